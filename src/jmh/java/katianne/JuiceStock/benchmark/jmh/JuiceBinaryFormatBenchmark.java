@@ -0,0 +1,103 @@
+package katianne.JuiceStock.benchmark.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuiceBinaryFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int listSize;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectWriter JuiceDTOListWriter;
+    private ObjectReader JuiceDTOListReader;
+
+    private List<JuiceDTO> JuiceDTOs;
+    private byte[] JuiceDTOListPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = objectMapperFor(format);
+        JuiceDTOListWriter = objectMapper.writerFor(new TypeReference<List<JuiceDTO>>() { });
+        JuiceDTOListReader = objectMapper.readerFor(new TypeReference<List<JuiceDTO>>() { });
+
+        JuiceType[] types = JuiceType.values();
+        JuiceDTOs = IntStream.range(0, listSize)
+                .mapToObj(i -> JuiceDTOBuilder.builder().id((long) i).name("Juice " + i).type(types[i % types.length]).build().toJuiceDTO())
+                .collect(Collectors.toList());
+        JuiceDTOListPayload = serializeList();
+        System.out.printf("%n%s list of %d juices%s: %d bytes%n", format, listSize, gzip ? " (gzip)" : "", JuiceDTOListPayload.length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        if (!gzip) {
+            return JuiceDTOListWriter.writeValueAsBytes(JuiceDTOs);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(bytes)) {
+            JuiceDTOListWriter.writeValue(gzipStream, JuiceDTOs);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<JuiceDTO> deserializeList() throws IOException {
+        if (!gzip) {
+            return JuiceDTOListReader.readValue(JuiceDTOListPayload);
+        }
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(JuiceDTOListPayload))) {
+            return JuiceDTOListReader.readValue(gzipStream);
+        }
+    }
+
+    private static ObjectMapper objectMapperFor(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileMapper();
+            case "cbor":
+                return new CBORMapper();
+            default:
+                return new ObjectMapper();
+        }
+    }
+}
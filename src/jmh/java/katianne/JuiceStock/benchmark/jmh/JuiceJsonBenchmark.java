@@ -0,0 +1,98 @@
+package katianne.JuiceStock.benchmark.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuiceJsonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SingleJuice {
+
+        private ObjectWriter JuiceDTOWriter;
+        private ObjectReader JuiceDTOReader;
+
+        private JuiceDTO JuiceDTO;
+        private byte[] JuiceDTOJson;
+
+        @Setup
+        public void setUp() throws IOException {
+            ObjectMapper objectMapper = new ObjectMapper();
+            JuiceDTOWriter = objectMapper.writerFor(JuiceDTO.class);
+            JuiceDTOReader = objectMapper.readerFor(JuiceDTO.class);
+
+            JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+            JuiceDTOJson = JuiceDTOWriter.writeValueAsBytes(JuiceDTO);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class JuiceList {
+
+        @Param({"1", "100", "1000"})
+        private int listSize;
+
+        private ObjectWriter JuiceDTOListWriter;
+        private ObjectReader JuiceDTOListReader;
+
+        private List<JuiceDTO> JuiceDTOs;
+        private byte[] JuiceDTOListJson;
+
+        @Setup
+        public void setUp() throws IOException {
+            ObjectMapper objectMapper = new ObjectMapper();
+            JuiceDTOListWriter = objectMapper.writerFor(new TypeReference<List<JuiceDTO>>() { });
+            JuiceDTOListReader = objectMapper.readerFor(new TypeReference<List<JuiceDTO>>() { });
+
+            JuiceDTOs = IntStream.range(0, listSize)
+                    .mapToObj(i -> JuiceDTOBuilder.builder().id((long) i).name("Juice " + i).build().toJuiceDTO())
+                    .collect(Collectors.toList());
+            JuiceDTOListJson = JuiceDTOListWriter.writeValueAsBytes(JuiceDTOs);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeSingle(SingleJuice single) throws IOException {
+        return single.JuiceDTOWriter.writeValueAsBytes(single.JuiceDTO);
+    }
+
+    @Benchmark
+    public JuiceDTO deserializeSingle(SingleJuice single) throws IOException {
+        return single.JuiceDTOReader.readValue(single.JuiceDTOJson);
+    }
+
+    @Benchmark
+    public byte[] serializeList(JuiceList list) throws IOException {
+        return list.JuiceDTOListWriter.writeValueAsBytes(list.JuiceDTOs);
+    }
+
+    @Benchmark
+    public List<JuiceDTO> deserializeList(JuiceList list) throws IOException {
+        return list.JuiceDTOListReader.readValue(list.JuiceDTOListJson);
+    }
+}
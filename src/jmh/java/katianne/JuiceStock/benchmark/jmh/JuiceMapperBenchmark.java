@@ -0,0 +1,48 @@
+package katianne.JuiceStock.benchmark.jmh;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.mapper.JuiceMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuiceMapperBenchmark {
+
+    private final JuiceMapper juiceMapper = JuiceMapper.INSTANCE;
+
+    private JuiceDTO JuiceDTO;
+    private Juice Juice;
+
+    @Setup
+    public void setUp() {
+        JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        Juice = juiceMapper.toModel(JuiceDTO);
+    }
+
+    @Benchmark
+    public Juice toModel() {
+        return juiceMapper.toModel(JuiceDTO);
+    }
+
+    @Benchmark
+    public JuiceDTO toDTO() {
+        return juiceMapper.toDTO(Juice);
+    }
+}
@@ -0,0 +1,100 @@
+package katianne.JuiceStock.benchmark.jmh;
+
+import katianne.JuiceStock.JuiceStockApplication;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.service.JuiceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JuiceServiceBenchmark {
+
+    private static final int JUICES = 1000;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private JuiceService JuiceService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> incrementedJuiceIds;
+    private int nextIncrementedJuice;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(JuiceStockApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("juice.cache.by-name.enabled=" + cacheEnabled,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        JuiceService = context.getBean(JuiceService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        incrementedJuiceIds = JuiceService.createJuices(IntStream.range(0, JUICES)
+                .mapToObj(i -> JuiceDTOBuilder.builder().id(null).name("Juice " + i).max(500).quantity(0).build().toJuiceDTO())
+                .collect(Collectors.toList()))
+                .stream()
+                .map(JuiceDTO::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStock() {
+        jdbcTemplate.update("UPDATE juice SET quantity = 0");
+        nextIncrementedJuice = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public JuiceDTO findByName() throws JuiceNotFoundException {
+        return JuiceService.findByName("Juice 500");
+    }
+
+    @Benchmark
+    public List<JuiceDTO> listAll() {
+        return JuiceService.listAll(0L, 100);
+    }
+
+    @Benchmark
+    public Object increment() throws JuiceNotFoundException {
+        Long incrementedJuiceId = incrementedJuiceIds.get(nextIncrementedJuice++ % JUICES);
+        try {
+            return JuiceService.increment(incrementedJuiceId, 1);
+        } catch (JuiceStockExceededException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package katianne.JuiceStock.benchmark.jmh;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.QuantityDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JuiceValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private JuiceDTO validJuiceDTO;
+    private JuiceDTO invalidJuiceDTO;
+    private QuantityDTO quantityDTO;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        invalidJuiceDTO = JuiceDTOBuilder.builder().max(1000).build().toJuiceDTO();
+        invalidJuiceDTO.setBrand(null);
+        quantityDTO = QuantityDTO.builder().quantity(10).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<JuiceDTO>> validJuiceDTO() {
+        return validator.validate(validJuiceDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<JuiceDTO>> invalidJuiceDTO() {
+        return validator.validate(invalidJuiceDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<QuantityDTO>> quantityDTO() {
+        return validator.validate(quantityDTO);
+    }
+}
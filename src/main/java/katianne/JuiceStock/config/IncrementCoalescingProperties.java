@@ -0,0 +1,21 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.increment.coalescing")
+public class IncrementCoalescingProperties {
+
+    private boolean enabled = false;
+
+    private long windowMillis = 5;
+
+    private int maxBatchSize = 64;
+
+    private int flushThreads = 2;
+
+    private long resultTimeoutMillis = 5000;
+}
@@ -0,0 +1,21 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.cache.by-name")
+public class JuiceCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maximumSize = 10000;
+
+    private Duration ttl = Duration.ofMinutes(1);
+
+    private Duration negativeTtl = Duration.ofSeconds(5);
+}
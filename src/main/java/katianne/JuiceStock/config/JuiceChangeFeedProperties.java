@@ -0,0 +1,23 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.change-feed")
+public class JuiceChangeFeedProperties {
+
+    private int bufferSize = 256;
+
+    private int historySize = 10000;
+
+    private int senderThreads = 8;
+
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    private Duration sendTimeout = Duration.ofSeconds(5);
+}
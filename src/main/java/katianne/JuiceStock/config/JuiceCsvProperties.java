@@ -0,0 +1,15 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.csv")
+public class JuiceCsvProperties {
+
+    private int chunkSize = 1000;
+
+    private int maxReportedErrors = 1000;
+}
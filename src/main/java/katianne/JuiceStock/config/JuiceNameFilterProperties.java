@@ -0,0 +1,17 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.name-filter")
+public class JuiceNameFilterProperties {
+
+    private boolean enabled = false;
+
+    private long expectedInsertions = 1_000_000;
+
+    private double falsePositiveProbability = 0.01;
+}
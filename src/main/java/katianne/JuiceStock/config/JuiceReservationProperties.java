@@ -0,0 +1,19 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.reservation")
+public class JuiceReservationProperties {
+
+    private Duration ttl = Duration.ofMinutes(15);
+
+    private Duration maxTtl = Duration.ofHours(1);
+
+    private Duration tick = Duration.ofSeconds(1);
+}
@@ -0,0 +1,30 @@
+package katianne.JuiceStock.config;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.repository.JuiceStockTotals;
+import katianne.JuiceStock.service.JuiceService;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aop.framework.Advised;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+import org.springframework.nativex.hint.AccessBits;
+import org.springframework.nativex.hint.AotProxyHint;
+import org.springframework.nativex.hint.JdkProxyHint;
+import org.springframework.nativex.hint.ProxyBits;
+import org.springframework.nativex.hint.TypeHint;
+
+@Configuration(proxyBeanMethods = false)
+@TypeHint(typeNames = {
+        "katianne.JuiceStock.mapper.JuiceMapperImpl",
+        "katianne.JuiceStock.reactive.mapper.ReactiveJuiceMapperImpl"
+}, access = AccessBits.LOAD_AND_CONSTRUCT)
+@TypeHint(types = JuiceDTO.class, access = AccessBits.LOAD_AND_CONSTRUCT | AccessBits.DECLARED_METHODS)
+@TypeHint(typeNames = {
+        "com.github.benmanes.caffeine.cache.SSLSMSA",
+        "com.github.benmanes.caffeine.cache.PSAMS"
+}, access = AccessBits.LOAD_AND_CONSTRUCT)
+@JdkProxyHint(types = {JuiceStockTotals.class, TargetAware.class, SpringProxy.class, DecoratingProxy.class})
+@AotProxyHint(targetClass = JuiceService.class, interfaces = {SpringProxy.class, Advised.class}, proxyFeatures = ProxyBits.IS_STATIC)
+public class NativeHintsConfig {
+}
@@ -0,0 +1,64 @@
+package katianne.JuiceStock.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "juice-last-write";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public ReadYourWritesFilter(ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        long windowMillis = readYourWritesGuard.getWindow().toMillis();
+        long remainingMillis = lastWriteOf(request) + windowMillis - now;
+        if (remainingMillis > 0) {
+            readYourWritesGuard.pinToPrimaryFor(Duration.ofMillis(remainingMillis));
+        }
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            Cookie lastWrite = new Cookie(LAST_WRITE_COOKIE, String.valueOf(now));
+            lastWrite.setPath("/");
+            lastWrite.setHttpOnly(true);
+            lastWrite.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(lastWrite);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesGuard.clear();
+        }
+    }
+
+    private static long lastWriteOf(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
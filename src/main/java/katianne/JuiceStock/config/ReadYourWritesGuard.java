@@ -0,0 +1,60 @@
+package katianne.JuiceStock.config;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+public class ReadYourWritesGuard {
+
+    private final Duration window;
+    private final ThreadLocal<Long> primaryUntilNanos = new ThreadLocal<>();
+
+    public ReadYourWritesGuard(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void markWritten() {
+        pinToPrimaryFor(window);
+    }
+
+    public void pinToPrimaryFor(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        Long current = primaryUntilNanos.get();
+        if (current == null || until - current > 0) {
+            primaryUntilNanos.set(until);
+        }
+    }
+
+    public <T> T readFromPrimary(Supplier<T> read) {
+        Long previous = primaryUntilNanos.get();
+        primaryUntilNanos.set(System.nanoTime() + window.toNanos());
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                primaryUntilNanos.remove();
+            } else {
+                primaryUntilNanos.set(previous);
+            }
+        }
+    }
+
+    public boolean requiresPrimary() {
+        Long until = primaryUntilNanos.get();
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        primaryUntilNanos.remove();
+        return false;
+    }
+
+    public void clear() {
+        primaryUntilNanos.remove();
+    }
+}
@@ -0,0 +1,72 @@
+package katianne.JuiceStock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "juice.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesGuard(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesGuard readYourWritesGuard) {
+        return new ReadYourWritesFilter(readYourWritesGuard);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties properties,
+                                                             ReadYourWritesGuard readYourWritesGuard,
+                                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(ReplicaRoutingDataSource.PRIMARY, primary);
+        List<String> replicaKeys = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : properties.getReplicas()) {
+            String replicaKey = "replica-" + replicaKeys.size();
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            replicaDataSource.setPoolName(replicaKey);
+            replicaDataSource.setReadOnly(true);
+            replicaDataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            targetDataSources.put(replicaKey, replicaDataSource);
+            replicaKeys.add(replicaKey);
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaKeys, readYourWritesGuard, meterRegistry);
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
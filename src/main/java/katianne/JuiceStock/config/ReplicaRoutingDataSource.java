@@ -0,0 +1,69 @@
+package katianne.JuiceStock.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryWrites;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(List<String> replicaKeys, ReadYourWritesGuard readYourWritesGuard, MeterRegistry meterRegistry) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.primaryWrites = routedCounter(meterRegistry, PRIMARY, "write");
+        this.primaryReads = routedCounter(meterRegistry, PRIMARY, "read-your-writes");
+        this.replicaReads = routedCounter(meterRegistry, "replica", "read-only");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicaKeys.isEmpty()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesGuard.markWritten();
+                primaryWrites.increment();
+            }
+            return PRIMARY;
+        }
+        if (readYourWritesGuard.requiresPrimary()) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    @Override
+    public void close() {
+        getResolvedDataSources().values().forEach(dataSource -> {
+            if (dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) dataSource).close();
+                } catch (IOException e) {
+                    logger.warn("Could not close " + dataSource, e);
+                }
+            }
+        });
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("juice.datasource.routed")
+                .description("Physical connections handed out by the routing datasource")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package katianne.JuiceStock.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.List;
+
+@Configuration
+public class SqlRoundTripConfig {
+
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlRoundTripHibernateCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlRoundTripSessionListener.class.getName());
+            hibernateProperties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(new EntityLoadIntegrator()));
+        };
+    }
+
+    @Bean
+    public SqlRoundTripFilter sqlRoundTripFilter(SqlRoundTripProperties properties, MeterRegistry meterRegistry) {
+        return new SqlRoundTripFilter(properties, meterRegistry);
+    }
+
+    @Bean
+    public TaskDecorator sqlRoundTripTaskDecorator() {
+        return SqlRoundTrips::wrap;
+    }
+
+    private static class EntityLoadIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            serviceRegistry.getService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> SqlRoundTrips.entityLoaded());
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package katianne.JuiceStock.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+public class SqlRoundTripFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ENTITY_LOADS_HEADER = "X-SQL-Entity-Loads";
+    public static final String JDBC_TIME_HEADER = "X-SQL-JDBC-Micros";
+    public static final String SCOPE_ATTRIBUTE = SqlRoundTripFilter.class.getName() + ".scope";
+
+    private final SqlRoundTripProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RequestMeters> metersByRequest = new ConcurrentHashMap<>();
+
+    public SqlRoundTripFilter(SqlRoundTripProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static void writeHeaders(SqlRoundTrips.Scope scope, BiConsumer<String, String> setHeader) {
+        setHeader.accept(STATEMENTS_HEADER, String.valueOf(scope.getStatements()));
+        setHeader.accept(ENTITY_LOADS_HEADER, String.valueOf(scope.getEntityLoads()));
+        setHeader.accept(JDBC_TIME_HEADER, String.valueOf(scope.getJdbcMicros()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try (SqlRoundTrips.Scope scope = SqlRoundTrips.open()) {
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                if (properties.isMetrics()) {
+                    request.getAsyncContext().addListener(new RecordOnCompletion(request, scope));
+                }
+                return;
+            }
+            if (properties.isHeaders() && !response.isCommitted()) {
+                writeHeaders(scope, response::setHeader);
+            }
+            if (properties.isMetrics()) {
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRoundTrips.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        RequestMeters meters = metersByRequest.computeIfAbsent(method + " " + uri, key -> new RequestMeters(uri, method));
+        meters.statements.record(scope.getStatements());
+        meters.entityLoads.record(scope.getEntityLoads());
+        meters.jdbcTime.record(scope.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        if (scope.getStatements() > properties.getStatementBudget()) {
+            meters.budgetExceeded.increment();
+        }
+    }
+
+    private class RequestMeters {
+
+        private final DistributionSummary statements;
+        private final DistributionSummary entityLoads;
+        private final Timer jdbcTime;
+        private final Counter budgetExceeded;
+
+        RequestMeters(String uri, String method) {
+            this.statements = DistributionSummary.builder("juice.sql.statements")
+                    .description("JDBC statements prepared per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.entityLoads = DistributionSummary.builder("juice.sql.entity.loads")
+                    .description("Entities hydrated by Hibernate per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.jdbcTime = Timer.builder("juice.sql.jdbc.time")
+                    .description("Time spent executing JDBC statements per HTTP request")
+                    .tag("uri", uri)
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.budgetExceeded = Counter.builder("juice.sql.budget.exceeded")
+                    .description("HTTP requests that prepared more statements than juice.sql.round-trips.statement-budget")
+                    .tag("uri", uri)
+                    .tag("method", method)
+                    .register(meterRegistry);
+        }
+    }
+
+    private class RecordOnCompletion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final SqlRoundTrips.Scope scope;
+
+        RecordOnCompletion(HttpServletRequest request, SqlRoundTrips.Scope scope) {
+            this.request = request;
+            this.scope = scope;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, scope);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.sql.round-trips")
+public class SqlRoundTripProperties {
+
+    private boolean headers = true;
+
+    private boolean metrics = true;
+
+    private int statementBudget = 10;
+}
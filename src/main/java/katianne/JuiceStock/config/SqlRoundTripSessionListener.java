@@ -0,0 +1,34 @@
+package katianne.JuiceStock.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class SqlRoundTripSessionListener extends BaseSessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        SqlRoundTrips.statementPrepared();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlRoundTrips.jdbcExecuted(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlRoundTrips.jdbcExecuted(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,118 @@
+package katianne.JuiceStock.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SqlRoundTrips {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlRoundTrips() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Scope captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static void statementPrepared() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements.increment();
+        }
+    }
+
+    static void jdbcExecuted(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.jdbcNanos.add(nanos);
+        }
+    }
+
+    static void entityLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.entityLoads.increment();
+        }
+    }
+
+    public static class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getEntityLoads() {
+            return entityLoads.sum();
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos.sum();
+        }
+
+        public long getJdbcMicros() {
+            return TimeUnit.NANOSECONDS.toMicros(getJdbcNanos());
+        }
+
+        public void add(Scope other) {
+            long otherStatements = other.getStatements();
+            long otherEntityLoads = other.getEntityLoads();
+            long otherJdbcNanos = other.getJdbcNanos();
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                scope.statements.add(otherStatements);
+                scope.entityLoads.add(otherEntityLoads);
+                scope.jdbcNanos.add(otherJdbcNanos);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d statements, %d entity loads, %d us JDBC", getStatements(), getEntityLoads(), getJdbcMicros());
+        }
+    }
+}
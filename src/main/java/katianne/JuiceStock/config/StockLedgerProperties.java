@@ -0,0 +1,26 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.ledger")
+public class StockLedgerProperties {
+
+    private boolean enabled = false;
+
+    private String directory = "data/ledger";
+
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    private long snapshotInterval = 1_000_000;
+
+    private int snapshotsToKeep = 3;
+
+    private boolean forceOnAppend = false;
+
+    private long maxReplayDistance = 1_000_000;
+}
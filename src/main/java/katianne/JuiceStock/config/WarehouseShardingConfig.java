@@ -0,0 +1,35 @@
+package katianne.JuiceStock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "juice.warehouse.sharding", name = "enabled", havingValue = "true")
+public class WarehouseShardingConfig {
+
+    @Bean
+    public WarehouseShards warehouseShards(WarehouseShardingProperties properties) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (WarehouseShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource shardDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            shardDataSource.setPoolName("warehouse-shard-" + dataSources.size());
+            shardDataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSources.add(shardDataSource);
+        }
+        WarehouseShards warehouseShards = new WarehouseShards(dataSources, properties.getShardTimeout());
+        warehouseShards.createSchema();
+        return warehouseShards;
+    }
+}
@@ -0,0 +1,39 @@
+package katianne.JuiceStock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "juice.warehouse.sharding")
+public class WarehouseShardingProperties {
+
+    private boolean enabled = false;
+
+    private Duration shardTimeout = Duration.ofMillis(500);
+
+    private int fanOutThreads = 16;
+
+    private Duration catalogSyncInterval = Duration.ofMillis(100);
+
+    private int catalogSyncBatchSize = 500;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,63 @@
+package katianne.JuiceStock.config;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WarehouseShards implements Closeable {
+
+    public static final String SCHEMA = "warehouse/schema.sql";
+
+    private final List<DataSource> dataSources;
+    private final List<NamedParameterJdbcTemplate> shards = new ArrayList<>();
+
+    public WarehouseShards(List<DataSource> dataSources, Duration queryTimeout) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one warehouse shard is required");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        int queryTimeoutSeconds = (int) Math.max(1, (queryTimeout.toMillis() + 999) / 1000);
+        for (DataSource dataSource : dataSources) {
+            NamedParameterJdbcTemplate shard = new NamedParameterJdbcTemplate(dataSource);
+            shard.getJdbcTemplate().setQueryTimeout(queryTimeoutSeconds);
+            shards.add(shard);
+        }
+    }
+
+    public void createSchema() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCHEMA));
+        dataSources.forEach(populator::execute);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public int shardOf(long warehouseId) {
+        return (int) Math.floorMod(warehouseId, (long) shards.size());
+    }
+
+    public NamedParameterJdbcTemplate shardFor(long warehouseId) {
+        return shards.get(shardOf(warehouseId));
+    }
+
+    public NamedParameterJdbcTemplate shard(int index) {
+        return shards.get(index);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
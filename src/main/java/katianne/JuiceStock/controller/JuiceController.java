@@ -1,25 +1,47 @@
 package katianne.JuiceStock.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.AllArgsConstructor;
+import katianne.JuiceStock.dto.JuiceBatchDTO;
+import katianne.JuiceStock.dto.JuiceBulkDeleteResultDTO;
 import katianne.JuiceStock.dto.JuiceDTO;
 import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.StockAdjustmentRequestDTO;
+import katianne.JuiceStock.dto.StockAdjustmentResultDTO;
+import katianne.JuiceStock.dto.StockSummaryDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.enums.StockAdjustmentStatus;
+import katianne.JuiceStock.enums.StockGrouping;
 import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
 import katianne.JuiceStock.exception.JuiceNotFoundException;
 import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.service.JuiceChangeFeed;
 import katianne.JuiceStock.service.JuiceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -27,7 +49,13 @@ import java.util.List;
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class JuiceController implements JuiceControllerDocs {
 
+    public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
     private final JuiceService JuiceService;
+    private final JuiceChangeFeed JuiceChangeFeed;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -35,14 +63,67 @@ public class JuiceController implements JuiceControllerDocs {
         return JuiceService.createJuice(JuiceDTO);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<JuiceDTO> createJuices(@RequestBody @Valid JuiceBatchDTO JuiceBatchDTO) throws JuiceAlreadyRegisteredException {
+        return JuiceService.createJuices(JuiceBatchDTO.getJuices());
+    }
+
     @GetMapping("/{name}")
-    public JuiceDTO findByName(@PathVariable String name) throws JuicerNotFoundException {
-        return JuiceService.findByName(name);
+    public ResponseEntity<JuiceDTO> findByName(@PathVariable String name, WebRequest request) throws JuiceNotFoundException {
+        JuiceDTO JuiceDTO = JuiceService.findByName(name);
+        String eTag = JuiceService.eTagOf(JuiceDTO);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(JuiceDTO);
     }
 
     @GetMapping
-    public List<JuiceDTO> listJuice() {
-        return JuiceService.listAll();
+    public ResponseEntity<List<JuiceDTO>> listJuice(@RequestParam(defaultValue = "0") Long after,
+                                                    @RequestParam(defaultValue = "100") int limit,
+                                                    WebRequest request) {
+        List<JuiceDTO> Juices = JuiceService.listAll(after, limit);
+        String eTag = JuiceService.catalogETag(Juices);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT);
+        if (!Juices.isEmpty()) {
+            response.header(CONTINUATION_TOKEN_HEADER, String.valueOf(Juices.get(Juices.size() - 1).getId()));
+        }
+        return response.body(Juices);
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportJuices() {
+        ObjectWriter JuiceDTOWriter = objectMapper.writerFor(JuiceDTO.class);
+        StreamingResponseBody body = outputStream -> JuiceService.exportAll(JuiceDTO -> {
+            try {
+                outputStream.write(JuiceDTOWriter.writeValueAsBytes(JuiceDTO));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return JuiceChangeFeed.subscribe(lastEventId);
+    }
+
+    @GetMapping(params = "page")
+    public Page<JuiceDTO> listJuicePage(Pageable pageable) {
+        return JuiceService.listAll(pageable);
+    }
+
+    @GetMapping("/stock/summary")
+    public List<StockSummaryDTO> summarizeStock(@RequestParam(defaultValue = "TYPE") StockGrouping groupBy) {
+        return JuiceService.summarizeStock(groupBy);
     }
 
     @DeleteMapping("/{id}")
@@ -51,8 +132,26 @@ public class JuiceController implements JuiceControllerDocs {
         JuiceService.deleteById(id);
     }
 
+    @DeleteMapping(params = {"id", "!type"})
+    public JuiceBulkDeleteResultDTO deleteAllById(@RequestParam("id") List<Long> ids) {
+        return JuiceService.deleteAllById(ids);
+    }
+
+    @DeleteMapping(params = {"type", "!id"})
+    public JuiceBulkDeleteResultDTO deleteAllByType(@RequestParam JuiceType type, @RequestParam(required = false) String brand) {
+        return JuiceService.deleteAllByType(type, brand);
+    }
+
     @PatchMapping("/{id}/increment")
     public JuiceDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws JuiceNotFoundException, JuiceStockExceededException {
         return JuiceService.increment(id, quantityDTO.getQuantity());
     }
+
+    @PatchMapping("/increment")
+    public ResponseEntity<List<StockAdjustmentResultDTO>> incrementAll(@RequestBody @Valid StockAdjustmentRequestDTO stockAdjustmentRequestDTO) {
+        List<StockAdjustmentResultDTO> results = JuiceService.incrementAll(stockAdjustmentRequestDTO.getAdjustments(), stockAdjustmentRequestDTO.getMode());
+        boolean notApplied = results.stream()
+                .anyMatch(result -> result.getStatus() == StockAdjustmentStatus.NOT_APPLIED);
+        return ResponseEntity.status(notApplied ? HttpStatus.BAD_REQUEST : HttpStatus.OK).body(results);
+    }
 }
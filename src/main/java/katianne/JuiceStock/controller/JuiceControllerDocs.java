@@ -4,13 +4,26 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import katianne.JuiceStock.dto.JuiceBatchDTO;
+import katianne.JuiceStock.dto.JuiceBulkDeleteResultDTO;
 import katianne.JuiceStock.dto.JuiceDTO;
 import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.StockAdjustmentRequestDTO;
+import katianne.JuiceStock.dto.StockAdjustmentResultDTO;
+import katianne.JuiceStock.dto.StockSummaryDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.enums.StockGrouping;
 import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
 import katianne.JuiceStock.exception.JuiceNotFoundException;
 import katianne.JuiceStock.exception.JuiceStockExceededException;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -25,18 +38,52 @@ public interface JuiceControllerDocs {
     })
     JuiceDTO createJuice(JuiceDTO JuiceDTO) throws JuiceAlreadyRegisteredException;
 
+    @ApiOperation(value = "Batch Juice creation operation")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success batch Juice creation"),
+            @ApiResponse(code = 400, message = "Missing required fields, wrong field range value or Juice already registered.")
+    })
+    List<JuiceDTO> createJuices(JuiceBatchDTO JuiceBatchDTO) throws JuiceAlreadyRegisteredException;
+
     @ApiOperation(value = "Returns Juice found by a given name")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Success Juice found in the system"),
+            @ApiResponse(code = 304, message = "Juice unchanged since the ETag given in If-None-Match"),
             @ApiResponse(code = 404, message = "Juice with given name not found.")
     })
-    JuiceDTO findByName(@PathVariable String name) throws JuiceNotFoundException;
+    ResponseEntity<JuiceDTO> findByName(@PathVariable String name, WebRequest request) throws JuiceNotFoundException;
+
+    @ApiOperation(value = "Returns a page of juices registered in the system, ordered by id")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Page of juices with id greater than 'after'; the X-Continuation-Token header holds the next 'after' value"),
+            @ApiResponse(code = 304, message = "Catalog unchanged since the ETag given in If-None-Match"),
+    })
+    ResponseEntity<List<JuiceDTO>> listJuice(Long after, int limit, WebRequest request);
+
+    @ApiOperation(value = "Streams every juice registered in the system as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "One JSON juice per line, written as rows are read"),
+    })
+    ResponseEntity<StreamingResponseBody> exportJuices();
+
+    @ApiOperation(value = "Streams juice creations, increments and deletions as server-sent events")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "'juice' events carry the changed juice; a 'reset' event asks the client to reload the list"),
+    })
+    SseEmitter streamChanges(String lastEventId);
 
-    @ApiOperation(value = "Returns a list of all juices registered in the system")
+    @ApiOperation(value = "Returns a page of juices using offset-based Spring Data paging")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "List of all juices registered in the system"),
+            @ApiResponse(code = 200, message = "Page of juices registered in the system"),
     })
-    List<JuiceDTO> listJuices();
+    Page<JuiceDTO> listJuicePage(Pageable pageable);
+
+    @ApiOperation(value = "Returns stock totals, capacity, fill ratio and SKU count grouped by type, brand or both")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "One entry per group with at least one registered juice"),
+            @ApiResponse(code = 400, message = "Unknown grouping.")
+    })
+    List<StockSummaryDTO> summarizeStock(StockGrouping groupBy);
 
     @ApiOperation(value = "Delete a juice found by a given valid Id")
     @ApiResponses(value = {
@@ -44,4 +91,24 @@ public interface JuiceControllerDocs {
             @ApiResponse(code = 404, message = "Juice with given id not found.")
     })
     void deleteById(@PathVariable Long id) throws JuiceNotFoundException;
+
+    @ApiOperation(value = "Deletes the juices with the given ids in set-based statements")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Count and ids of the juices deleted; ids not found are skipped")
+    })
+    JuiceBulkDeleteResultDTO deleteAllById(List<Long> ids);
+
+    @ApiOperation(value = "Deletes every juice of a type, optionally restricted to a brand, in set-based statements")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Count and ids of the juices deleted"),
+            @ApiResponse(code = 400, message = "Invalid juice type.")
+    })
+    JuiceBulkDeleteResultDTO deleteAllByType(JuiceType type, String brand);
+
+    @ApiOperation(value = "Increments the stock of several juices in a single transaction")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Per-item results of the stock adjustment"),
+            @ApiResponse(code = 400, message = "Missing required fields, or all-or-nothing adjustment not applied.")
+    })
+    ResponseEntity<List<StockAdjustmentResultDTO>> incrementAll(StockAdjustmentRequestDTO stockAdjustmentRequestDTO);
 }
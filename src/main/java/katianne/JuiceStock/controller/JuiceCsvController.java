@@ -0,0 +1,43 @@
+package katianne.JuiceStock.controller;
+
+import katianne.JuiceStock.dto.JuiceImportResultDTO;
+import katianne.JuiceStock.exception.JuiceCsvFormatException;
+import katianne.JuiceStock.service.JuiceCsvService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/Juices")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class JuiceCsvController implements JuiceCsvControllerDocs {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final JuiceCsvService JuiceCsvService;
+
+    @PostMapping(consumes = TEXT_CSV_VALUE)
+    public JuiceImportResultDTO importJuices(InputStream csv) throws IOException, JuiceCsvFormatException {
+        return JuiceCsvService.importCsv(csv);
+    }
+
+    @GetMapping(produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportJuices() {
+        StreamingResponseBody body = JuiceCsvService::exportCsv;
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"juices.csv\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,30 @@
+package katianne.JuiceStock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import katianne.JuiceStock.dto.JuiceImportResultDTO;
+import katianne.JuiceStock.exception.JuiceCsvFormatException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Api("Imports and exports the Juice catalog as CSV")
+public interface JuiceCsvControllerDocs {
+
+    @ApiOperation(value = "Creates or updates juices by name from a text/csv body with a name,brand,max,quantity,type header")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Counts of created, updated, unchanged and rejected rows, with the line and reason of each rejected row"),
+            @ApiResponse(code = 400, message = "Missing header or required column.")
+    })
+    JuiceImportResultDTO importJuices(InputStream csv) throws IOException, JuiceCsvFormatException;
+
+    @ApiOperation(value = "Streams every juice registered in the system as CSV")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Header line followed by one juice per line, written as rows are read"),
+    })
+    ResponseEntity<StreamingResponseBody> exportJuices();
+}
@@ -0,0 +1,55 @@
+package katianne.JuiceStock.controller;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.ReservationDTO;
+import katianne.JuiceStock.dto.ReservationRequestDTO;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.ReservationNotFoundException;
+import katianne.JuiceStock.service.JuiceReservationService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/Juices")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class JuiceReservationController implements JuiceReservationControllerDocs {
+
+    private final JuiceReservationService JuiceReservationService;
+
+    @PostMapping("/{id}/reservations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationDTO reserve(@PathVariable Long id, @RequestBody @Valid ReservationRequestDTO reservationRequestDTO) throws JuiceNotFoundException, JuiceStockUnavailableException {
+        Duration ttl = reservationRequestDTO.getTtlSeconds() == null ? null : Duration.ofSeconds(reservationRequestDTO.getTtlSeconds());
+        return JuiceReservationService.reserve(id, reservationRequestDTO.getQuantity(), ttl);
+    }
+
+    @GetMapping("/{id}/available")
+    public QuantityDTO available(@PathVariable Long id) throws JuiceNotFoundException {
+        return QuantityDTO.builder().quantity(JuiceReservationService.available(id)).build();
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public JuiceDTO confirm(@PathVariable String reservationId) throws ReservationNotFoundException, JuiceNotFoundException, JuiceStockUnavailableException {
+        return JuiceReservationService.confirm(reservationId);
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void release(@PathVariable String reservationId) throws ReservationNotFoundException {
+        JuiceReservationService.release(reservationId);
+    }
+}
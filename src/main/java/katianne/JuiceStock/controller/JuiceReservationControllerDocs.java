@@ -0,0 +1,47 @@
+package katianne.JuiceStock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.ReservationDTO;
+import katianne.JuiceStock.dto.ReservationRequestDTO;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.ReservationNotFoundException;
+
+@Api("Manages Juice stock reservations")
+public interface JuiceReservationControllerDocs {
+
+    @ApiOperation(value = "Holds stock of a juice until the reservation is confirmed, released or expires")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Success stock reserved"),
+            @ApiResponse(code = 400, message = "Missing required fields or not enough available stock."),
+            @ApiResponse(code = 404, message = "Juice with given id not found.")
+    })
+    ReservationDTO reserve(Long id, ReservationRequestDTO reservationRequestDTO) throws JuiceNotFoundException, JuiceStockUnavailableException;
+
+    @ApiOperation(value = "Returns the stock of a juice that is not held by any reservation")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Available quantity"),
+            @ApiResponse(code = 404, message = "Juice with given id not found.")
+    })
+    QuantityDTO available(Long id) throws JuiceNotFoundException;
+
+    @ApiOperation(value = "Confirms a reservation, removing its quantity from the juice stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success reservation confirmed"),
+            @ApiResponse(code = 400, message = "Juice stock no longer covers the reservation."),
+            @ApiResponse(code = 404, message = "Reservation not found or expired, or juice deleted.")
+    })
+    JuiceDTO confirm(String reservationId) throws ReservationNotFoundException, JuiceNotFoundException, JuiceStockUnavailableException;
+
+    @ApiOperation(value = "Releases a reservation, returning its quantity to the available stock")
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Success reservation released"),
+            @ApiResponse(code = 404, message = "Reservation not found or expired.")
+    })
+    void release(String reservationId) throws ReservationNotFoundException;
+}
@@ -0,0 +1,37 @@
+package katianne.JuiceStock.controller;
+
+import katianne.JuiceStock.config.SqlRoundTripFilter;
+import katianne.JuiceStock.config.SqlRoundTrips;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "juice.sql.round-trips", name = "headers", havingValue = "true", matchIfMissing = true)
+public class SqlRoundTripHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRoundTrips.Scope scope = SqlRoundTrips.current();
+        if (scope == null && request instanceof ServletServerHttpRequest) {
+            scope = (SqlRoundTrips.Scope) ((ServletServerHttpRequest) request).getServletRequest().getAttribute(SqlRoundTripFilter.SCOPE_ATTRIBUTE);
+        }
+        if (scope != null) {
+            SqlRoundTripFilter.writeHeaders(scope, response.getHeaders()::set);
+        }
+        return body;
+    }
+}
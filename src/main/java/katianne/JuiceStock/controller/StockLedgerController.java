@@ -0,0 +1,32 @@
+package katianne.JuiceStock.controller;
+
+import katianne.JuiceStock.dto.LedgerStockDTO;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.LedgerReplayTooLongException;
+import katianne.JuiceStock.service.StockLedger;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/Juices")
+@ConditionalOnProperty(prefix = "juice.ledger", name = "enabled", havingValue = "true")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class StockLedgerController implements StockLedgerControllerDocs {
+
+    private final StockLedger stockLedger;
+
+    @GetMapping("/{id}/ledger")
+    public LedgerStockDTO ledgerStock(@PathVariable Long id, @RequestParam(required = false) Long upTo) throws JuiceNotFoundException, LedgerReplayTooLongException, IOException {
+        Optional<LedgerStockDTO> ledgerStock = upTo == null ? stockLedger.stockOf(id) : stockLedger.stockAt(id, upTo);
+        return ledgerStock.orElseThrow(() -> new JuiceNotFoundException(id));
+    }
+}
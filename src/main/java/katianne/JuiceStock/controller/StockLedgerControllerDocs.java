@@ -0,0 +1,23 @@
+package katianne.JuiceStock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import katianne.JuiceStock.dto.LedgerStockDTO;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.LedgerReplayTooLongException;
+
+import java.io.IOException;
+
+@Api("Audits Juice stock movements")
+public interface StockLedgerControllerDocs {
+
+    @ApiOperation(value = "Returns the stock of a juice rebuilt from the movement ledger, optionally as of a ledger sequence")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Ledger stock and the sequence it reflects"),
+            @ApiResponse(code = 400, message = "Sequence is further from the nearest snapshot than juice.ledger.max-replay-distance"),
+            @ApiResponse(code = 404, message = "Juice with given id has no movements up to the sequence.")
+    })
+    LedgerStockDTO ledgerStock(Long id, Long upTo) throws JuiceNotFoundException, LedgerReplayTooLongException, IOException;
+}
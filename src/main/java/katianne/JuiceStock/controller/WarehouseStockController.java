@@ -0,0 +1,68 @@
+package katianne.JuiceStock.controller;
+
+import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.WarehouseStockDTO;
+import katianne.JuiceStock.dto.WarehouseStockListDTO;
+import katianne.JuiceStock.dto.WarehouseStockTotalDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.WarehouseStockNotFoundException;
+import katianne.JuiceStock.service.WarehouseStockService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/warehouses")
+@ConditionalOnProperty(prefix = "juice.warehouse.sharding", name = "enabled", havingValue = "true")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class WarehouseStockController implements WarehouseStockControllerDocs {
+
+    private final WarehouseStockService warehouseStockService;
+
+    @PutMapping("/{warehouseId}/stock/{name}")
+    public WarehouseStockDTO putStock(@PathVariable Long warehouseId, @PathVariable String name, @RequestBody @Valid WarehouseStockDTO warehouseStockDTO)
+            throws JuiceNotFoundException, JuiceStockExceededException {
+        return warehouseStockService.putStock(warehouseId, name, warehouseStockDTO);
+    }
+
+    @PatchMapping("/{warehouseId}/stock/{name}/increment")
+    public WarehouseStockDTO increment(@PathVariable Long warehouseId, @PathVariable String name, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws JuiceNotFoundException, WarehouseStockNotFoundException, JuiceStockExceededException {
+        return warehouseStockService.increment(warehouseId, name, quantityDTO.getQuantity());
+    }
+
+    @PatchMapping("/{warehouseId}/stock/{name}/decrement")
+    public WarehouseStockDTO decrement(@PathVariable Long warehouseId, @PathVariable String name, @RequestBody @Valid QuantityDTO quantityDTO)
+            throws JuiceNotFoundException, WarehouseStockNotFoundException, JuiceStockUnavailableException {
+        return warehouseStockService.decrement(warehouseId, name, quantityDTO.getQuantity());
+    }
+
+    @GetMapping("/{warehouseId}/stock")
+    public List<WarehouseStockDTO> findByWarehouse(@PathVariable Long warehouseId) {
+        return warehouseStockService.findByWarehouse(warehouseId);
+    }
+
+    @GetMapping("/stock/{name}")
+    public WarehouseStockTotalDTO totalByName(@PathVariable String name) {
+        return warehouseStockService.totalByName(name);
+    }
+
+    @GetMapping("/stock")
+    public WarehouseStockListDTO findByType(@RequestParam JuiceType type) {
+        return warehouseStockService.findByType(type);
+    }
+}
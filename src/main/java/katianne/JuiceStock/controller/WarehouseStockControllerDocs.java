@@ -0,0 +1,62 @@
+package katianne.JuiceStock.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.WarehouseStockDTO;
+import katianne.JuiceStock.dto.WarehouseStockListDTO;
+import katianne.JuiceStock.dto.WarehouseStockTotalDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.WarehouseStockNotFoundException;
+
+import java.util.List;
+
+@Api("Manages Juice stock per warehouse")
+public interface WarehouseStockControllerDocs {
+
+    @ApiOperation(value = "Sets the stock of a juice in a warehouse, written to the shard that owns the warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success warehouse stock set"),
+            @ApiResponse(code = 400, message = "Missing required fields or quantity above max."),
+            @ApiResponse(code = 404, message = "Juice with given name not found.")
+    })
+    WarehouseStockDTO putStock(Long warehouseId, String name, WarehouseStockDTO warehouseStockDTO) throws JuiceNotFoundException, JuiceStockExceededException;
+
+    @ApiOperation(value = "Increments the stock of a juice in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success warehouse stock incremented"),
+            @ApiResponse(code = 400, message = "Increment exceeds the warehouse max."),
+            @ApiResponse(code = 404, message = "Juice not found or not stocked in the warehouse.")
+    })
+    WarehouseStockDTO increment(Long warehouseId, String name, QuantityDTO quantityDTO)
+            throws JuiceNotFoundException, WarehouseStockNotFoundException, JuiceStockExceededException;
+
+    @ApiOperation(value = "Decrements the stock of a juice in a warehouse")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Success warehouse stock decremented"),
+            @ApiResponse(code = 400, message = "Not enough stock in the warehouse."),
+            @ApiResponse(code = 404, message = "Juice not found or not stocked in the warehouse.")
+    })
+    WarehouseStockDTO decrement(Long warehouseId, String name, QuantityDTO quantityDTO)
+            throws JuiceNotFoundException, WarehouseStockNotFoundException, JuiceStockUnavailableException;
+
+    @ApiOperation(value = "Returns the stock of a warehouse, read from its shard only")
+    List<WarehouseStockDTO> findByWarehouse(Long warehouseId);
+
+    @ApiOperation(value = "Returns the total stock of a juice across every warehouse shard")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Totals merged from the shards that answered within the shard timeout")
+    })
+    WarehouseStockTotalDTO totalByName(String name);
+
+    @ApiOperation(value = "Returns the warehouse stock of every juice of a type across every warehouse shard")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Stock merged from the shards that answered within the shard timeout")
+    })
+    WarehouseStockListDTO findByType(JuiceType type);
+}
@@ -0,0 +1,21 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JuiceBulkDeleteResultDTO {
+
+    private long deleted;
+
+    @Builder.Default
+    private List<Long> ids = new ArrayList<>();
+}
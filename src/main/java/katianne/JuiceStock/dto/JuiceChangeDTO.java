@@ -0,0 +1,29 @@
+package katianne.JuiceStock.dto;
+
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.enums.JuiceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JuiceChangeDTO {
+
+    private Long id;
+
+    private String name;
+
+    private JuiceType type;
+
+    private Integer quantity;
+
+    private Integer max;
+
+    private JuiceChangeType change;
+
+    private Integer delta;
+}
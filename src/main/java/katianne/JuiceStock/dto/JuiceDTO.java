@@ -1,5 +1,6 @@
 package katianne.JuiceStock.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -39,4 +40,11 @@ public class JuiceDTO {
     @Enumerated(EnumType.STRING)
     @NotNull
     private JuiceType type;
+
+    @JsonIgnore
+    private Long version;
+
+    public JuiceDTO(Long id, String name, String brand, Integer max, Integer quantity, JuiceType type) {
+        this(id, name, brand, max, quantity, type, null);
+    }
 }
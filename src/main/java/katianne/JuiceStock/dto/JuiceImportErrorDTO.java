@@ -0,0 +1,17 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JuiceImportErrorDTO {
+
+    private long line;
+
+    private String message;
+}
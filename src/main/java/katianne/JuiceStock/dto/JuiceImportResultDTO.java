@@ -0,0 +1,29 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JuiceImportResultDTO {
+
+    private long rows;
+
+    private long created;
+
+    private long updated;
+
+    private long unchanged;
+
+    private long rejected;
+
+    @Builder.Default
+    private List<JuiceImportErrorDTO> errors = new ArrayList<>();
+}
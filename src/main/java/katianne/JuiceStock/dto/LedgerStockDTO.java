@@ -0,0 +1,19 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerStockDTO {
+
+    private Long juiceId;
+
+    private Integer quantity;
+
+    private long sequence;
+}
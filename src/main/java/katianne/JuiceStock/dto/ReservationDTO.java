@@ -0,0 +1,25 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDTO {
+
+    private String id;
+
+    private Long juiceId;
+
+    private Integer quantity;
+
+    private Instant expiresAt;
+
+    private Integer available;
+}
@@ -0,0 +1,26 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequestDTO {
+
+    @NotNull
+    @Min(1)
+    @Max(100)
+    private Integer quantity;
+
+    @Positive
+    private Long ttlSeconds;
+}
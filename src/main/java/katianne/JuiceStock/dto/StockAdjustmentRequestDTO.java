@@ -0,0 +1,28 @@
+package katianne.JuiceStock.dto;
+
+import katianne.JuiceStock.enums.StockAdjustmentMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequestDTO {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@Valid StockAdjustmentDTO> adjustments;
+
+    @NotNull
+    @Builder.Default
+    private StockAdjustmentMode mode = StockAdjustmentMode.PARTIAL;
+}
@@ -0,0 +1,22 @@
+package katianne.JuiceStock.dto;
+
+import katianne.JuiceStock.enums.StockAdjustmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResultDTO {
+
+    private Long id;
+
+    private Integer quantity;
+
+    private StockAdjustmentStatus status;
+
+    private JuiceDTO juice;
+}
@@ -0,0 +1,28 @@
+package katianne.JuiceStock.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import katianne.JuiceStock.enums.JuiceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StockSummaryDTO {
+
+    private JuiceType type;
+
+    private String brand;
+
+    private long quantity;
+
+    private long capacity;
+
+    private double fillRatio;
+
+    private long skus;
+}
@@ -0,0 +1,37 @@
+package katianne.JuiceStock.dto;
+
+import katianne.JuiceStock.enums.JuiceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseStockDTO {
+
+    private Long warehouseId;
+
+    private Long juiceId;
+
+    private String name;
+
+    private String brand;
+
+    private JuiceType type;
+
+    @NotNull
+    @Min(0)
+    private Integer quantity;
+
+    @NotNull
+    @Min(0)
+    @Max(100000)
+    private Integer max;
+}
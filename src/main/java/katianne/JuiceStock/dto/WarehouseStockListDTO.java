@@ -0,0 +1,22 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseStockListDTO {
+
+    @Builder.Default
+    private List<WarehouseStockDTO> stock = new ArrayList<>();
+
+    @Builder.Default
+    private List<Integer> unavailableShards = new ArrayList<>();
+}
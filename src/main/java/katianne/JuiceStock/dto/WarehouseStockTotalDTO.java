@@ -0,0 +1,27 @@
+package katianne.JuiceStock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseStockTotalDTO {
+
+    private String name;
+
+    private long quantity;
+
+    private long max;
+
+    private long warehouses;
+
+    @Builder.Default
+    private List<Integer> unavailableShards = new ArrayList<>();
+}
@@ -12,18 +12,26 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Juice.NAME_CONSTRAINT, columnNames = "name"))
 @NoArgsConstructor
 @AllArgsConstructor
 public class Juice {
 
+    public static final String NAME_CONSTRAINT = "uk_juice_name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "juice_sequence")
+    @SequenceGenerator(name = "juice_sequence", sequenceName = "juice_sequence", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
     @Column(nullable = false)
@@ -39,5 +47,7 @@ public class Juice {
     @Column(nullable = false)
     private JuiceType type;
 
-
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
@@ -0,0 +1,17 @@
+package katianne.JuiceStock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum JuiceChangeType {
+
+    CREATED("Created"),
+    INCREMENTED("Incremented"),
+    DECREMENTED("Decremented"),
+    UPDATED("Updated"),
+    DELETED("Deleted");
+
+    private final String description;
+}
@@ -0,0 +1,14 @@
+package katianne.JuiceStock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAdjustmentMode {
+
+    ALL_OR_NOTHING("All or nothing"),
+    PARTIAL("Partial success");
+
+    private final String description;
+}
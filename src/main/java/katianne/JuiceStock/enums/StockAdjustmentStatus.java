@@ -0,0 +1,16 @@
+package katianne.JuiceStock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockAdjustmentStatus {
+
+    INCREMENTED("Incremented"),
+    NOT_FOUND("Juice not found"),
+    EXCEEDED("Max stock capacity exceeded"),
+    NOT_APPLIED("Not applied");
+
+    private final String description;
+}
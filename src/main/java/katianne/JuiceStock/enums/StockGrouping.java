@@ -0,0 +1,15 @@
+package katianne.JuiceStock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StockGrouping {
+
+    TYPE("Juice type"),
+    BRAND("Brand"),
+    TYPE_AND_BRAND("Juice type and brand");
+
+    private final String description;
+}
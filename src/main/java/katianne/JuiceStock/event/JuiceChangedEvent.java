@@ -0,0 +1,43 @@
+package katianne.JuiceStock.event;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class JuiceChangedEvent {
+
+    private final JuiceChangeType changeType;
+
+    private final JuiceDTO juice;
+
+    private final int quantityDelta;
+
+    private final JuiceDTO previous;
+
+    public static JuiceChangedEvent created(JuiceDTO juice) {
+        return new JuiceChangedEvent(JuiceChangeType.CREATED, juice, juice.getQuantity(), null);
+    }
+
+    public static JuiceChangedEvent incremented(JuiceDTO juice, int quantityToIncrement) {
+        return new JuiceChangedEvent(JuiceChangeType.INCREMENTED, juice, quantityToIncrement, null);
+    }
+
+    public static JuiceChangedEvent decremented(JuiceDTO juice, int quantityToDecrement) {
+        return new JuiceChangedEvent(JuiceChangeType.DECREMENTED, juice, -quantityToDecrement, null);
+    }
+
+    public static JuiceChangedEvent deleted(JuiceDTO juice) {
+        return new JuiceChangedEvent(JuiceChangeType.DELETED, juice, -juice.getQuantity(), null);
+    }
+
+    public static JuiceChangedEvent updated(JuiceDTO previous, JuiceDTO juice) {
+        return new JuiceChangedEvent(JuiceChangeType.UPDATED, juice, juice.getQuantity() - previous.getQuantity(), previous);
+    }
+}
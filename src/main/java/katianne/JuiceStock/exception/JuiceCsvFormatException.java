@@ -0,0 +1,12 @@
+package katianne.JuiceStock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class JuiceCsvFormatException extends Exception {
+
+    public JuiceCsvFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package katianne.JuiceStock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class JuiceStockUnavailableException extends Exception {
+
+    public JuiceStockUnavailableException(Long id, int quantityToReserve) {
+        super(String.format("Juices with %s ID do not have %s units available to reserve.", id, quantityToReserve));
+    }
+}
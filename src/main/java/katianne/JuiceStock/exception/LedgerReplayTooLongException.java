@@ -0,0 +1,13 @@
+package katianne.JuiceStock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class LedgerReplayTooLongException extends Exception {
+
+    public LedgerReplayTooLongException(long sequence, long checkpointSequence, long maxReplayDistance) {
+        super(String.format("Ledger sequence %s is %s movements past the nearest snapshot (%s); at most %s can be replayed per request",
+                sequence, sequence - checkpointSequence, checkpointSequence, maxReplayDistance));
+    }
+}
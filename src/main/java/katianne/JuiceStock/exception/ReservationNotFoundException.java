@@ -0,0 +1,12 @@
+package katianne.JuiceStock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends Exception {
+
+    public ReservationNotFoundException(String reservationId) {
+        super(String.format("Reservation %s not found or already expired.", reservationId));
+    }
+}
@@ -0,0 +1,12 @@
+package katianne.JuiceStock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class WarehouseStockNotFoundException extends Exception {
+
+    public WarehouseStockNotFoundException(Long warehouseId, String JuiceName) {
+        super(String.format("Juice with name %s is not stocked in warehouse %s.", JuiceName, warehouseId));
+    }
+}
@@ -3,6 +3,7 @@ package katianne.JuiceStock.mapper;
 import katianne.JuiceStock.dto.JuiceDTO;
 import katianne.JuiceStock.entity.Juice;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
@@ -10,6 +11,7 @@ public interface JuiceMapper {
 
     JuiceMapper INSTANCE = Mappers.getMapper(JuiceMapper.class);
 
+    @Mapping(target = "version", ignore = true)
     Juice toModel(JuiceDTO JuiceDTO);
 
     JuiceDTO toDTO(Juice juice);
@@ -0,0 +1,34 @@
+package katianne.JuiceStock.reactive.entity;
+
+import katianne.JuiceStock.enums.JuiceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("juice")
+public class ReactiveJuice {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private int max;
+
+    private int quantity;
+
+    private JuiceType type;
+
+    @Version
+    private Long version;
+}
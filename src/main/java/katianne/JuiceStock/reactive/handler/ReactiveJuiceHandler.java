@@ -0,0 +1,90 @@
+package katianne.JuiceStock.reactive.handler;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.reactive.service.ReactiveJuiceService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveJuiceHandler {
+
+    public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ReactiveJuiceService JuiceService;
+    private final Validator validator;
+
+    public Mono<ServerResponse> createJuice(ServerRequest request) {
+        return request.bodyToMono(JuiceDTO.class)
+                .doOnNext(this::validate)
+                .flatMap(JuiceService::createJuice)
+                .flatMap(created -> ServerResponse.status(HttpStatus.CREATED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(created));
+    }
+
+    public Mono<ServerResponse> findByName(ServerRequest request) {
+        return JuiceService.findByName(request.pathVariable("name"))
+                .flatMap(found -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(found));
+    }
+
+    public Mono<ServerResponse> listJuices(ServerRequest request) {
+        Long after = request.queryParam("after").map(Long::valueOf).orElse(0L);
+        int limit = request.queryParam("limit").map(Integer::valueOf).orElse(100);
+        return JuiceService.listAll(after, limit)
+                .collectList()
+                .flatMap(page -> {
+                    ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+                    if (!page.isEmpty()) {
+                        response.header(CONTINUATION_TOKEN_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+                    }
+                    return response.bodyValue(page);
+                });
+    }
+
+    public Mono<ServerResponse> exportJuices(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(JuiceService.exportAll(), JuiceDTO.class);
+    }
+
+    public Mono<ServerResponse> deleteById(ServerRequest request) {
+        return JuiceService.deleteById(Long.valueOf(request.pathVariable("id")))
+                .then(ServerResponse.noContent().build());
+    }
+
+    public Mono<ServerResponse> increment(ServerRequest request) {
+        Long id = Long.valueOf(request.pathVariable("id"));
+        return request.bodyToMono(QuantityDTO.class)
+                .doOnNext(this::validate)
+                .flatMap(quantityDTO -> JuiceService.increment(id, quantityDTO.getQuantity()))
+                .flatMap(incremented -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(incremented));
+    }
+
+    private void validate(Object body) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(body);
+        if (!violations.isEmpty()) {
+            throw new ServerWebInputException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package katianne.JuiceStock.reactive.handler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class ReactiveJuiceRouter {
+
+    private static final String JUICE_API_URL_PATH = "/api/v1/Juices";
+
+    @Bean
+    public RouterFunction<ServerResponse> juiceRoutes(ReactiveJuiceHandler JuiceHandler) {
+        return route()
+                .path(JUICE_API_URL_PATH, builder -> builder
+                        .POST("", JuiceHandler::createJuice)
+                        .GET("", explicitlyAccepts(ReactiveJuiceHandler.APPLICATION_NDJSON), JuiceHandler::exportJuices)
+                        .GET("", JuiceHandler::listJuices)
+                        .GET("/{name}", JuiceHandler::findByName)
+                        .DELETE("/{id}", JuiceHandler::deleteById)
+                        .PATCH("/{id}/increment", JuiceHandler::increment))
+                .build();
+    }
+
+    private static RequestPredicate explicitlyAccepts(MediaType mediaType) {
+        return request -> request.headers().accept().stream().anyMatch(mediaType::equalsTypeAndSubtype);
+    }
+}
@@ -0,0 +1,18 @@
+package katianne.JuiceStock.reactive.mapper;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.reactive.entity.ReactiveJuice;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface ReactiveJuiceMapper {
+
+    ReactiveJuiceMapper INSTANCE = Mappers.getMapper(ReactiveJuiceMapper.class);
+
+    @Mapping(target = "version", ignore = true)
+    ReactiveJuice toModel(JuiceDTO JuiceDTO);
+
+    JuiceDTO toDTO(ReactiveJuice juice);
+}
@@ -0,0 +1,28 @@
+package katianne.JuiceStock.reactive.repository;
+
+import katianne.JuiceStock.reactive.entity.ReactiveJuice;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveJuiceRepository extends ReactiveCrudRepository<ReactiveJuice, Long> {
+
+    Mono<ReactiveJuice> findByName(String name);
+
+    @Query("SELECT * FROM juice WHERE id > :after ORDER BY id LIMIT :limit")
+    Flux<ReactiveJuice> findPageAfter(@Param("after") Long after, @Param("limit") int limit);
+
+    @Query("SELECT * FROM juice ORDER BY id")
+    Flux<ReactiveJuice> streamAll();
+
+    @Modifying
+    @Query("UPDATE juice SET quantity = quantity + :quantity, version = version + 1 WHERE id = :id AND quantity + :quantity <= max")
+    Mono<Integer> incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("DELETE FROM juice WHERE id = :id")
+    Mono<Integer> deleteByIdReturningCount(@Param("id") Long id);
+}
@@ -0,0 +1,81 @@
+package katianne.JuiceStock.reactive.service;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.reactive.entity.ReactiveJuice;
+import katianne.JuiceStock.reactive.mapper.ReactiveJuiceMapper;
+import katianne.JuiceStock.reactive.repository.ReactiveJuiceRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveJuiceService {
+
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int EXPORT_PREFETCH = 256;
+
+    private final ReactiveJuiceRepository JuiceRepository;
+    private final ReactiveJuiceMapper JuiceMapper = ReactiveJuiceMapper.INSTANCE;
+
+    public Mono<JuiceDTO> createJuice(JuiceDTO JuiceDTO) {
+        ReactiveJuice juice = JuiceMapper.toModel(JuiceDTO);
+        juice.setId(null);
+        return JuiceRepository.save(juice)
+                .map(JuiceMapper::toDTO)
+                .onErrorMap(ReactiveJuiceService::isNameConflict, e -> new JuiceAlreadyRegisteredException(JuiceDTO.getName()));
+    }
+
+    private static boolean isNameConflict(Throwable e) {
+        if (!(e instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        String message = ((DataIntegrityViolationException) e).getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Juice.NAME_CONSTRAINT);
+    }
+
+    public Mono<JuiceDTO> findByName(String name) {
+        return JuiceRepository.findByName(name)
+                .map(JuiceMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new JuiceNotFoundException(name)));
+    }
+
+    public Flux<JuiceDTO> listAll(Long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+        return JuiceRepository.findPageAfter(after, pageSize)
+                .map(JuiceMapper::toDTO);
+    }
+
+    public Flux<JuiceDTO> exportAll() {
+        return JuiceRepository.streamAll()
+                .limitRate(EXPORT_PREFETCH)
+                .map(JuiceMapper::toDTO);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return JuiceRepository.deleteByIdReturningCount(id)
+                .flatMap(deletedRows -> deletedRows == 0
+                        ? Mono.error(new JuiceNotFoundException(id))
+                        : Mono.empty());
+    }
+
+    @Transactional
+    public Mono<JuiceDTO> increment(Long id, int quantityToIncrement) {
+        return JuiceRepository.incrementQuantity(id, quantityToIncrement)
+                .flatMap(updatedRows -> JuiceRepository.findById(id)
+                        .switchIfEmpty(Mono.error(() -> new JuiceNotFoundException(id)))
+                        .flatMap(juice -> updatedRows == 0
+                                ? Mono.error(new JuiceStockExceededException(id, quantityToIncrement))
+                                : Mono.just(JuiceMapper.toDTO(juice))));
+    }
+}
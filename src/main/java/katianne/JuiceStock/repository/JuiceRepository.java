@@ -1,11 +1,114 @@
 package katianne.JuiceStock.repository;
 
+import katianne.JuiceStock.dto.JuiceDTO;
 import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.enums.JuiceType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface JuiceRepository extends JpaRepository<Juice, Long> {
 
+    String JUICE_DTO_PROJECTION = "SELECT new katianne.JuiceStock.dto.JuiceDTO(j.id, j.name, j.brand, j.max, j.quantity, j.type, j.version) FROM Juice j";
+
     Optional<Juice> findByName(String name);
+
+    @Transactional(readOnly = true)
+    @Query(JUICE_DTO_PROJECTION + " WHERE j.name = :name")
+    Optional<JuiceDTO> findDTOByName(@Param("name") String name);
+
+    @Transactional(readOnly = true)
+    @Query(JUICE_DTO_PROJECTION + " WHERE j.id = :id")
+    Optional<JuiceDTO> findDTOById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(JUICE_DTO_PROJECTION + " WHERE j.id IN :ids")
+    List<JuiceDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query(JUICE_DTO_PROJECTION + " WHERE j.id > :after ORDER BY j.id")
+    List<JuiceDTO> findDTOsByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(value = JUICE_DTO_PROJECTION, countQuery = "SELECT count(j) FROM Juice j")
+    Page<JuiceDTO> findAllDTOs(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT j FROM Juice j ORDER BY j.id")
+    Stream<Juice> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT j.name FROM Juice j")
+    Stream<String> streamAllNames();
+
+    @Query("SELECT j.name FROM Juice j WHERE j.name IN :names")
+    List<String> findRegisteredNames(@Param("names") Collection<String> names);
+
+    List<Juice> findAllByNameIn(Collection<String> names);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT j.type AS type, j.brand AS brand, SUM(j.quantity) AS quantity, SUM(j.max) AS capacity, COUNT(j) AS skus " +
+            "FROM Juice j GROUP BY j.type, j.brand")
+    List<JuiceStockTotals> sumStockByTypeAndBrand();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM Juice j WHERE j.id = :id")
+    Optional<Juice> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM Juice j WHERE j.id IN :ids ORDER BY j.id")
+    List<Juice> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM Juice j WHERE j.type = :type AND (:brand IS NULL OR j.brand = :brand) ORDER BY j.id")
+    List<Juice> findAllByTypeAndBrandForUpdate(@Param("type") JuiceType type, @Param("brand") String brand);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Juice j SET j.quantity = j.quantity + :quantity, j.version = j.version + 1 " +
+            "WHERE j.id = :id AND j.quantity + :quantity <= j.max")
+    int incrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Juice j SET j.quantity = j.quantity + :quantity, j.version = j.version + :versions " +
+            "WHERE j.id = :id AND j.quantity + :quantity <= j.max")
+    int incrementQuantityBy(@Param("id") Long id, @Param("quantity") int quantity, @Param("versions") long versions);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Juice j SET j.quantity = j.quantity - :quantity, j.version = j.version + 1 " +
+            "WHERE j.id = :id AND j.quantity >= :quantity")
+    int decrementQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Juice j WHERE j.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Juice j WHERE j.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,16 @@
+package katianne.JuiceStock.repository;
+
+import katianne.JuiceStock.enums.JuiceType;
+
+public interface JuiceStockTotals {
+
+    JuiceType getType();
+
+    String getBrand();
+
+    Long getQuantity();
+
+    Long getCapacity();
+
+    Long getSkus();
+}
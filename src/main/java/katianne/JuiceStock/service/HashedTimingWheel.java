@@ -0,0 +1,85 @@
+package katianne.JuiceStock.service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class HashedTimingWheel<T> {
+
+    private final long startNanos;
+    private final long tickNanos;
+    private final int mask;
+    private final Set<Timeout<T>>[] buckets;
+    private final Consumer<T> expiryHandler;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long startNanos, Duration tick, Duration maxDelay, Consumer<T> expiryHandler) {
+        this.startNanos = startNanos;
+        this.tickNanos = tick.toNanos();
+        this.expiryHandler = expiryHandler;
+        long ticksPerSpan = (maxDelay.toNanos() + tickNanos - 1) / tickNanos + 1;
+        int wheelSize = 1;
+        while (wheelSize < ticksPerSpan) {
+            wheelSize <<= 1;
+        }
+        this.mask = wheelSize - 1;
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    public Timeout<T> schedule(T item, long deadlineNanos) {
+        long deadlineTick = Math.max((deadlineNanos - startNanos + tickNanos - 1) / tickNanos, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick, buckets[(int) (deadlineTick & mask)]);
+        timeout.bucket.add(timeout);
+        if (deadlineTick <= currentTick && timeout.cancel()) {
+            expiryHandler.accept(item);
+        }
+        return timeout;
+    }
+
+    public synchronized int advance(long nowNanos) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        int expired = 0;
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            Set<Timeout<T>> bucket = buckets[(int) (tick & mask)];
+            currentTick = tick;
+            for (Timeout<T> timeout : bucket) {
+                if (timeout.deadlineTick <= tick && bucket.remove(timeout)) {
+                    expiryHandler.accept(timeout.item);
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    public int wheelSize() {
+        return buckets.length;
+    }
+
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private final Set<Timeout<T>> bucket;
+
+        Timeout(T item, long deadlineTick, Set<Timeout<T>> bucket) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+            this.bucket = bucket;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public boolean cancel() {
+            return bucket.remove(this);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package katianne.JuiceStock.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import katianne.JuiceStock.config.JuiceCacheProperties;
+import katianne.JuiceStock.config.ReadYourWritesGuard;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+@Component
+public class JuiceCache {
+
+    private static final String CACHE_NAME = "juiceByName";
+
+    private final JuiceCacheProperties properties;
+    private final Cache<String, Optional<JuiceDTO>> JuicesByName;
+    private final ConcurrentMap<Long, String> namesById = new ConcurrentHashMap<>();
+    private final Optional<ReadYourWritesGuard> readYourWritesGuard;
+
+    public JuiceCache(JuiceCacheProperties properties, MeterRegistry meterRegistry, Optional<ReadYourWritesGuard> readYourWritesGuard) {
+        this.properties = properties;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.JuicesByName = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new PositiveAndNegativeExpiry(properties))
+                .removalListener((String name, Optional<JuiceDTO> JuiceDTO, RemovalCause cause) -> {
+                    if (JuiceDTO != null) {
+                        JuiceDTO.ifPresent(removed -> namesById.remove(removed.getId(), name));
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, JuicesByName, CACHE_NAME);
+    }
+
+    public Optional<JuiceDTO> get(String name, Function<String, Optional<JuiceDTO>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(name);
+        }
+        if (readYourWritesGuard.map(ReadYourWritesGuard::requiresPrimary).orElse(false)) {
+            Optional<JuiceDTO> JuiceDTO = loader.apply(name);
+            JuiceDTO.ifPresentOrElse(found -> {
+                JuicesByName.put(name, JuiceDTO);
+                namesById.put(found.getId(), name);
+            }, () -> JuicesByName.invalidate(name));
+            return JuiceDTO;
+        }
+        Optional<JuiceDTO> JuiceDTO = JuicesByName.get(name, missingName -> loadFromPrimary(missingName, loader));
+        JuiceDTO.ifPresent(found -> namesById.put(found.getId(), name));
+        return JuiceDTO;
+    }
+
+    private Optional<JuiceDTO> loadFromPrimary(String name, Function<String, Optional<JuiceDTO>> loader) {
+        return readYourWritesGuard
+                .map(guard -> guard.readFromPrimary(() -> loader.apply(name)))
+                .orElseGet(() -> loader.apply(name));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJuiceChanged(JuiceChangedEvent event) {
+        JuiceDTO JuiceDTO = event.getJuice();
+        if (JuiceDTO.getId() != null) {
+            evict(JuiceDTO.getId());
+        }
+        if (JuiceDTO.getName() != null) {
+            evict(JuiceDTO.getName());
+        }
+    }
+
+    public void evict(String name) {
+        JuicesByName.invalidate(name);
+    }
+
+    public void evict(Long id) {
+        String name = namesById.remove(id);
+        if (name != null) {
+            JuicesByName.invalidate(name);
+        }
+    }
+
+    private static class PositiveAndNegativeExpiry implements Expiry<String, Optional<JuiceDTO>> {
+
+        private final JuiceCacheProperties properties;
+
+        PositiveAndNegativeExpiry(JuiceCacheProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public long expireAfterCreate(String name, Optional<JuiceDTO> JuiceDTO, long currentTime) {
+            return JuiceDTO.isPresent() ? properties.getTtl().toNanos() : properties.getNegativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String name, Optional<JuiceDTO> JuiceDTO, long currentTime, long currentDuration) {
+            return expireAfterCreate(name, JuiceDTO, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String name, Optional<JuiceDTO> JuiceDTO, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
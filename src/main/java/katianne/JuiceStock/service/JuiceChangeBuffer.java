@@ -0,0 +1,104 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.dto.JuiceChangeDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class JuiceChangeBuffer {
+
+    private final int capacity;
+    private final Map<Long, Change> pending = new LinkedHashMap<>();
+    private long lastOfferedSequence;
+    private long dropped;
+
+    public JuiceChangeBuffer(int capacity, long lastOfferedSequence) {
+        this.capacity = capacity;
+        this.lastOfferedSequence = lastOfferedSequence;
+    }
+
+    public synchronized boolean offer(Change change) {
+        if (change.sequence <= lastOfferedSequence) {
+            return false;
+        }
+        lastOfferedSequence = change.sequence;
+        Long juiceId = change.data.getId();
+        Change previous = pending.remove(juiceId);
+        if (previous == null && pending.size() >= capacity) {
+            Iterator<Change> oldest = pending.values().iterator();
+            oldest.next();
+            oldest.remove();
+            dropped++;
+        }
+        pending.put(juiceId, previous == null ? change : previous.coalesce(change));
+        return true;
+    }
+
+    public synchronized Batch drain() {
+        Batch batch = new Batch(new ArrayList<>(pending.values()), dropped);
+        pending.clear();
+        dropped = 0;
+        return batch;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty() && dropped == 0;
+    }
+
+    public static class Change {
+
+        private final long sequence;
+        private final JuiceChangeDTO data;
+
+        public Change(long sequence, JuiceChangeDTO data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public JuiceChangeDTO getData() {
+            return data;
+        }
+
+        Change coalesce(Change next) {
+            JuiceChangeType change = data.getChange() == JuiceChangeType.CREATED && next.data.getChange() != JuiceChangeType.DELETED
+                    ? JuiceChangeType.CREATED
+                    : next.data.getChange();
+            return new Change(next.sequence, JuiceChangeDTO.builder()
+                    .id(next.data.getId())
+                    .name(next.data.getName())
+                    .type(next.data.getType())
+                    .quantity(next.data.getQuantity())
+                    .max(next.data.getMax())
+                    .change(change)
+                    .delta(data.getDelta() + next.data.getDelta())
+                    .build());
+        }
+    }
+
+    public static class Batch {
+
+        private final List<Change> changes;
+        private final long dropped;
+
+        Batch(List<Change> changes, long dropped) {
+            this.changes = changes;
+            this.dropped = dropped;
+        }
+
+        public List<Change> getChanges() {
+            return changes;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+    }
+}
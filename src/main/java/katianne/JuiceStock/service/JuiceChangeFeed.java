@@ -0,0 +1,238 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import katianne.JuiceStock.config.JuiceChangeFeedProperties;
+import katianne.JuiceStock.dto.JuiceChangeDTO;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class JuiceChangeFeed {
+
+    public static final String JUICE_EVENT = "juice";
+    public static final String RESET_EVENT = "reset";
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final JuiceChangeFeedProperties properties;
+    private final String bootEpoch = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Deque<JuiceChangeBuffer.Change> history = new ArrayDeque<>();
+    private final BlockingQueue<JuiceChangeBuffer.Change> dispatchQueue = new LinkedBlockingQueue<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+    private final Counter droppedCounter;
+    private final Counter evictedCounter;
+
+    public JuiceChangeFeed(JuiceChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads());
+        this.droppedCounter = Counter.builder("juice.change.feed.dropped")
+                .description("Changes dropped from full subscriber buffers")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("juice.change.feed.evicted")
+                .description("Subscribers dropped because a send exceeded the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("juice.change.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed subscriptions")
+                .register(meterRegistry);
+        dispatcher.execute(this::dispatch);
+        long heartbeatMillis = properties.getHeartbeat().toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long sendTimeoutMillis = properties.getSendTimeout().toMillis();
+        heartbeats.scheduleAtFixedRate(this::evictSlowSubscribers, sendTimeoutMillis, sendTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJuiceChanged(JuiceChangedEvent event) {
+        JuiceDTO JuiceDTO = event.getJuice();
+        JuiceChangeDTO JuiceChangeDTO = JuiceChangeDTO.builder()
+                .id(JuiceDTO.getId())
+                .name(JuiceDTO.getName())
+                .type(JuiceDTO.getType())
+                .quantity(JuiceDTO.getQuantity())
+                .max(JuiceDTO.getMax())
+                .change(event.getChangeType())
+                .delta(event.getQuantityDelta())
+                .build();
+        synchronized (history) {
+            JuiceChangeBuffer.Change change = new JuiceChangeBuffer.Change(sequence.incrementAndGet(), JuiceChangeDTO);
+            history.addLast(change);
+            if (history.size() > properties.getHistorySize()) {
+                history.removeFirst();
+            }
+            dispatchQueue.offer(change);
+        }
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber;
+        synchronized (history) {
+            long current = sequence.get();
+            long after = parseSequence(lastEventId, current);
+            boolean reset = after > current
+                    || (!history.isEmpty() && after < history.peekFirst().getSequence() - 1);
+            subscriber = new Subscriber(emitter, new JuiceChangeBuffer(properties.getBufferSize(), Math.min(after, current)));
+            subscriber.reset.set(reset);
+            for (JuiceChangeBuffer.Change change : history) {
+                subscriber.buffer.offer(change);
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                JuiceChangeBuffer.Change change = dispatchQueue.take();
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.buffer.offer(change)) {
+                        scheduleDrain(subscriber);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat.set(true);
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void evictSlowSubscribers() {
+        long now = System.nanoTime();
+        long sendTimeoutNanos = properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            long drainingSince = subscriber.drainingSince.get();
+            if (drainingSince != IDLE && now - drainingSince > sendTimeoutNanos && subscribers.remove(subscriber)) {
+                evictedCounter.increment();
+                Future<?> drainTask = subscriber.drainTask;
+                if (drainTask != null) {
+                    drainTask.cancel(true);
+                }
+                subscriber.emitter.completeWithError(new TimeoutException("Change feed send exceeded " + properties.getSendTimeout()));
+            }
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        long now = System.nanoTime();
+        if (subscriber.drainingSince.compareAndSet(IDLE, now == IDLE ? now + 1 : now)) {
+            subscriber.drainTask = senders.submit(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.reset.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data("history"));
+            }
+            JuiceChangeBuffer.Batch batch = subscriber.buffer.drain();
+            if (batch.getDropped() > 0) {
+                droppedCounter.increment(batch.getDropped());
+                subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data("overflow"));
+            }
+            for (JuiceChangeBuffer.Change change : batch.getChanges()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventIdOf(change.getSequence()))
+                        .name(JUICE_EVENT)
+                        .data(change.getData(), MediaType.APPLICATION_JSON));
+            }
+            if (subscriber.heartbeat.getAndSet(false) && batch.getChanges().isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.drainingSince.set(IDLE);
+        }
+        if (!subscriber.buffer.isEmpty() && subscribers.contains(subscriber)) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private String eventIdOf(long sequence) {
+        return bootEpoch + "-" + sequence;
+    }
+
+    private long parseSequence(String lastEventId, long current) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return current;
+        }
+        String eventId = lastEventId.trim();
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(bootEpoch)) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private final JuiceChangeBuffer buffer;
+        private final AtomicLong drainingSince = new AtomicLong(IDLE);
+        private volatile Future<?> drainTask;
+        private final AtomicBoolean reset = new AtomicBoolean();
+        private final AtomicBoolean heartbeat = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, JuiceChangeBuffer buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package katianne.JuiceStock.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import katianne.JuiceStock.config.JuiceCsvProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.JuiceImportErrorDTO;
+import katianne.JuiceStock.dto.JuiceImportResultDTO;
+import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.JuiceCsvFormatException;
+import katianne.JuiceStock.mapper.JuiceMapper;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class JuiceCsvService {
+
+    public static final List<String> REQUIRED_COLUMNS = List.of("name", "brand", "max", "quantity", "type");
+
+    private static final CsvSchema EXPORT_SCHEMA = CsvSchema.builder()
+            .addNumberColumn("id")
+            .addColumn("name")
+            .addColumn("brand")
+            .addNumberColumn("max")
+            .addNumberColumn("quantity")
+            .addColumn("type")
+            .build()
+            .withHeader();
+
+    private final JuiceService JuiceService;
+    private final JuiceRepository JuiceRepository;
+    private final JuiceNameFilter JuiceNameFilter;
+    private final JuiceCsvProperties properties;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JuiceMapper juiceMapper = JuiceMapper.INSTANCE;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final ObjectWriter JuiceCsvWriter;
+    private final ObjectReader csvRowReader;
+    private final ObjectReader JuiceRowReader;
+
+    public JuiceCsvService(JuiceService JuiceService,
+                           JuiceRepository JuiceRepository,
+                           JuiceNameFilter JuiceNameFilter,
+                           JuiceCsvProperties properties,
+                           Validator validator,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager) {
+        this.JuiceService = JuiceService;
+        this.JuiceRepository = JuiceRepository;
+        this.JuiceNameFilter = JuiceNameFilter;
+        this.properties = properties;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        csvMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        csvMapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+        this.JuiceCsvWriter = csvMapper.writerFor(JuiceDTO.class)
+                .with(EXPORT_SCHEMA)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.csvRowReader = csvMapper.readerFor(String[].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .with(CsvParser.Feature.SKIP_EMPTY_LINES);
+        this.JuiceRowReader = csvMapper.readerFor(JuiceDTO.class);
+    }
+
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        try (SequenceWriter rows = JuiceCsvWriter.writeValues(outputStream)) {
+            JuiceService.exportAll(JuiceDTO -> {
+                try {
+                    rows.write(JuiceDTO);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    public JuiceImportResultDTO importCsv(InputStream inputStream) throws IOException, JuiceCsvFormatException {
+        Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        try (MappingIterator<String[]> rows = csvRowReader.readValues(reader)) {
+            String[] columns = columnsOf(rows.hasNextValue() ? rows.nextValue() : null);
+            JuiceImportResultDTO result = JuiceImportResultDTO.builder().build();
+            Map<String, ImportedRow> chunk = new LinkedHashMap<>();
+            while (rows.hasNextValue()) {
+                long lineNumber = rows.getParser().getTokenLocation().getLineNr();
+                String[] row = rows.nextValue();
+                if (row.length == 0 || (row.length == 1 && row[0].isBlank())) {
+                    continue;
+                }
+                result.setRows(result.getRows() + 1);
+                if (row.length > columns.length) {
+                    reject(result, lineNumber, "Too many entries: expected at most " + columns.length);
+                    continue;
+                }
+                JuiceDTO JuiceDTO;
+                try {
+                    JuiceDTO = JuiceRowReader.readValue(toObjectNode(columns, row));
+                } catch (JsonProcessingException e) {
+                    reject(result, lineNumber, e.getOriginalMessage());
+                    continue;
+                }
+                Set<ConstraintViolation<JuiceDTO>> violations = validator.validate(JuiceDTO);
+                if (!violations.isEmpty()) {
+                    reject(result, lineNumber, violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                    continue;
+                }
+                if (chunk.size() >= properties.getChunkSize() || chunk.containsKey(JuiceDTO.getName())) {
+                    flush(chunk, result);
+                }
+                chunk.put(JuiceDTO.getName(), new ImportedRow(lineNumber, JuiceDTO));
+            }
+            flush(chunk, result);
+            return result;
+        }
+    }
+
+    private String[] columnsOf(String[] header) throws JuiceCsvFormatException {
+        if (header == null || header.length == 0 || (header.length == 1 && header[0].isBlank())) {
+            throw new JuiceCsvFormatException("CSV header is missing, expected columns " + REQUIRED_COLUMNS);
+        }
+        String[] columns = new String[header.length];
+        for (int i = 0; i < header.length; i++) {
+            columns[i] = header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+        }
+        List<String> columnNames = List.of(columns);
+        List<String> missingColumns = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columnNames.contains(column))
+                .collect(Collectors.toList());
+        if (!missingColumns.isEmpty()) {
+            throw new JuiceCsvFormatException("CSV header is missing columns " + missingColumns);
+        }
+        return columns;
+    }
+
+    private ObjectNode toObjectNode(String[] columns, String[] row) {
+        ObjectNode JuiceNode = csvMapper.createObjectNode();
+        for (int i = 0; i < row.length; i++) {
+            JuiceNode.put(columns[i], row[i]);
+        }
+        return JuiceNode;
+    }
+
+    private void flush(Map<String, ImportedRow> chunk, JuiceImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            ChunkOutcome outcome = transactionTemplate.execute(status -> upsert(chunk));
+            outcome.createdNames.forEach(JuiceNameFilter::put);
+            result.setCreated(result.getCreated() + outcome.createdNames.size());
+            result.setUpdated(result.getUpdated() + outcome.updated);
+            result.setUnchanged(result.getUnchanged() + outcome.unchanged);
+        } catch (DataAccessException e) {
+            String message = "Rows rolled back with their chunk: " + e.getMostSpecificCause().getMessage();
+            chunk.values().forEach(row -> reject(result, row.line, message));
+        }
+        chunk.clear();
+    }
+
+    private ChunkOutcome upsert(Map<String, ImportedRow> chunk) {
+        Map<String, Juice> registeredJuices = JuiceRepository.findAllByNameIn(chunk.keySet())
+                .stream()
+                .collect(Collectors.toMap(Juice::getName, Function.identity()));
+        ChunkOutcome outcome = new ChunkOutcome();
+        List<Juice> newJuices = new ArrayList<>();
+        List<UpdatedJuice> updatedJuices = new ArrayList<>();
+        for (ImportedRow row : chunk.values()) {
+            JuiceDTO imported = row.juice;
+            Juice juice = registeredJuices.get(imported.getName());
+            if (juice == null) {
+                Juice newJuice = juiceMapper.toModel(imported);
+                newJuice.setId(null);
+                newJuices.add(newJuice);
+            } else if (hasSameStock(juice, imported)) {
+                outcome.unchanged++;
+            } else {
+                JuiceDTO previous = juiceMapper.toDTO(juice);
+                juice.setBrand(imported.getBrand());
+                juice.setMax(imported.getMax());
+                juice.setQuantity(imported.getQuantity());
+                juice.setType(imported.getType());
+                updatedJuices.add(new UpdatedJuice(previous, juice));
+            }
+        }
+        JuiceRepository.saveAll(newJuices);
+        JuiceRepository.flush();
+        for (Juice newJuice : newJuices) {
+            outcome.createdNames.add(newJuice.getName());
+            eventPublisher.publishEvent(JuiceChangedEvent.created(juiceMapper.toDTO(newJuice)));
+        }
+        for (UpdatedJuice updatedJuice : updatedJuices) {
+            eventPublisher.publishEvent(JuiceChangedEvent.updated(updatedJuice.previous, juiceMapper.toDTO(updatedJuice.juice)));
+        }
+        outcome.updated = updatedJuices.size();
+        return outcome;
+    }
+
+    private void reject(JuiceImportResultDTO result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < properties.getMaxReportedErrors()) {
+            result.getErrors().add(JuiceImportErrorDTO.builder().line(line).message(message).build());
+        }
+    }
+
+    private static boolean hasSameStock(Juice juice, JuiceDTO imported) {
+        return Objects.equals(juice.getBrand(), imported.getBrand())
+                && juice.getMax() == imported.getMax()
+                && juice.getQuantity() == imported.getQuantity()
+                && juice.getType() == imported.getType();
+    }
+
+    private static class ImportedRow {
+
+        private final long line;
+        private final JuiceDTO juice;
+
+        ImportedRow(long line, JuiceDTO juice) {
+            this.line = line;
+            this.juice = juice;
+        }
+    }
+
+    private static class UpdatedJuice {
+
+        private final JuiceDTO previous;
+        private final Juice juice;
+
+        UpdatedJuice(JuiceDTO previous, Juice juice) {
+            this.previous = previous;
+            this.juice = juice;
+        }
+    }
+
+    private static class ChunkOutcome {
+
+        private final List<String> createdNames = new ArrayList<>();
+        private int updated;
+        private int unchanged;
+    }
+}
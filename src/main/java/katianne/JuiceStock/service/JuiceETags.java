@@ -0,0 +1,26 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.dto.JuiceDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class JuiceETags {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    public String forJuice(JuiceDTO JuiceDTO) {
+        return "W/\"" + epoch + "-" + JuiceDTO.getId() + "-" + JuiceDTO.getVersion() + "\"";
+    }
+
+    public String forCatalog(List<JuiceDTO> Juices) {
+        long hash = 1;
+        for (JuiceDTO JuiceDTO : Juices) {
+            hash = 31 * hash + Objects.hashCode(JuiceDTO.getId());
+            hash = 31 * hash + Objects.hashCode(JuiceDTO.getVersion());
+        }
+        return "W/\"" + epoch + "-catalog-" + Juices.size() + "-" + Long.toString(hash, Character.MAX_RADIX) + "\"";
+    }
+}
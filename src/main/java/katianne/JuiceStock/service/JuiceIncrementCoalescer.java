@@ -0,0 +1,262 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import katianne.JuiceStock.config.IncrementCoalescingProperties;
+import katianne.JuiceStock.config.SqlRoundTrips;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.mapper.JuiceMapper;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class JuiceIncrementCoalescer {
+
+    private final JuiceRepository JuiceRepository;
+    private final JuiceMapper juiceMapper = JuiceMapper.INSTANCE;
+    private final IncrementCoalescingProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService flushExecutor;
+    private final ConcurrentMap<Long, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+
+    public JuiceIncrementCoalescer(JuiceRepository JuiceRepository,
+                                   IncrementCoalescingProperties properties,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.JuiceRepository = JuiceRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushExecutor = properties.isEnabled() ? Executors.newScheduledThreadPool(properties.getFlushThreads()) : null;
+        this.batchSizeSummary = DistributionSummary.builder("juice.increment.coalescing.batch.size")
+                .description("Number of increments merged into a single UPDATE")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("juice.increment.coalescing.flush")
+                .description("Time spent applying a coalesced batch")
+                .register(meterRegistry);
+        Gauge.builder("juice.increment.coalescing.window", properties, IncrementCoalescingProperties::getWindowMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("juice.increment.coalescing.max.batch.size", properties, IncrementCoalescingProperties::getMaxBatchSize)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public JuiceDTO increment(Long id, int quantityToIncrement) throws JuiceNotFoundException, JuiceStockExceededException {
+        PendingIncrement pendingIncrement = new PendingIncrement(quantityToIncrement);
+        enqueue(id, pendingIncrement);
+        try {
+            try {
+                return pendingIncrement.result.get(properties.getResultTimeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pendingIncrement.cancel()) {
+                    throw new QueryTimeoutException("Coalesced increment of juice " + id + " did not complete in "
+                            + properties.getResultTimeoutMillis() + " ms", e);
+                }
+                return pendingIncrement.result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pendingIncrement.cancel();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JuiceNotFoundException) {
+                throw (JuiceNotFoundException) cause;
+            }
+            if (cause instanceof JuiceStockExceededException) {
+                throw (JuiceStockExceededException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pendingBatches.forEach(this::flush);
+        if (flushExecutor != null) {
+            flushExecutor.shutdown();
+        }
+    }
+
+    private void enqueue(Long id, PendingIncrement pendingIncrement) {
+        while (true) {
+            PendingBatch batch = pendingBatches.computeIfAbsent(id, this::openBatch);
+            int size = batch.add(pendingIncrement);
+            if (size < 0) {
+                pendingBatches.remove(id, batch);
+                continue;
+            }
+            if (size >= properties.getMaxBatchSize()) {
+                pendingBatches.remove(id, batch);
+                flushExecutor.execute(() -> flush(id, batch));
+            }
+            return;
+        }
+    }
+
+    private PendingBatch openBatch(Long id) {
+        PendingBatch batch = new PendingBatch(properties.getMaxBatchSize());
+        flushExecutor.schedule(() -> flush(id, batch), properties.getWindowMillis(), TimeUnit.MILLISECONDS);
+        return batch;
+    }
+
+    private void flush(Long id, PendingBatch batch) {
+        List<PendingIncrement> increments = batch.drain();
+        pendingBatches.remove(id, batch);
+        if (increments.isEmpty()) {
+            return;
+        }
+        batchSizeSummary.record(increments.size());
+        List<Object> outcomes;
+        try (SqlRoundTrips.Scope flushScope = SqlRoundTrips.open()) {
+            try {
+                outcomes = flushTimer.record(() -> transactionTemplate.execute(status -> apply(id, increments)));
+            } finally {
+                attribute(flushScope, increments);
+            }
+        } catch (RuntimeException e) {
+            increments.forEach(increment -> increment.result.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < increments.size(); i++) {
+            increments.get(i).complete(outcomes.get(i));
+        }
+    }
+
+    private static void attribute(SqlRoundTrips.Scope flushScope, List<PendingIncrement> increments) {
+        Set<SqlRoundTrips.Scope> requestScopes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PendingIncrement increment : increments) {
+            if (increment.requestScope != null && requestScopes.add(increment.requestScope)) {
+                increment.requestScope.add(flushScope);
+            }
+        }
+    }
+
+    private List<Object> apply(Long id, List<PendingIncrement> increments) {
+        List<Object> outcomes = new ArrayList<>(increments.size());
+        Optional<Juice> optJuice = JuiceRepository.findByIdForUpdate(id);
+        if (optJuice.isEmpty()) {
+            increments.forEach(increment -> outcomes.add(new JuiceNotFoundException(id)));
+            return outcomes;
+        }
+
+        Juice juice = optJuice.get();
+        int quantity = juice.getQuantity();
+        int acceptedQuantity = 0;
+        long acceptedIncrements = 0;
+        for (PendingIncrement increment : increments) {
+            if (!increment.claim()) {
+                outcomes.add(null);
+            } else if (quantity + increment.quantity <= juice.getMax()) {
+                quantity += increment.quantity;
+                acceptedQuantity += increment.quantity;
+                acceptedIncrements++;
+                JuiceDTO incrementedJuiceDTO = juiceMapper.toDTO(juice);
+                incrementedJuiceDTO.setQuantity(quantity);
+                incrementedJuiceDTO.setVersion(juice.getVersion() + acceptedIncrements);
+                outcomes.add(incrementedJuiceDTO);
+            } else {
+                outcomes.add(new JuiceStockExceededException(id, increment.quantity));
+            }
+        }
+        if (acceptedIncrements > 0) {
+            JuiceRepository.incrementQuantityBy(id, acceptedQuantity, acceptedIncrements);
+        }
+        return outcomes;
+    }
+
+    private static class PendingIncrement {
+
+        private final int quantity;
+        private final CompletableFuture<JuiceDTO> result = new CompletableFuture<>();
+        private final SqlRoundTrips.Scope requestScope = SqlRoundTrips.current();
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        PendingIncrement(int quantity) {
+            this.quantity = quantity;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        boolean cancel() {
+            return claim() && result.cancel(false);
+        }
+
+        void complete(Object outcome) {
+            if (outcome == null) {
+                return;
+            }
+            if (outcome instanceof JuiceDTO) {
+                result.complete((JuiceDTO) outcome);
+            } else {
+                result.completeExceptionally((Throwable) outcome);
+            }
+        }
+    }
+
+    private static class PendingBatch {
+
+        private final int maxSize;
+        private final List<PendingIncrement> increments = new ArrayList<>();
+        private boolean closed;
+        private boolean drained;
+
+        PendingBatch(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized int add(PendingIncrement increment) {
+            if (closed) {
+                return -1;
+            }
+            increments.add(increment);
+            closed = increments.size() >= maxSize;
+            return increments.size();
+        }
+
+        synchronized List<PendingIncrement> drain() {
+            closed = true;
+            if (drained) {
+                return List.of();
+            }
+            drained = true;
+            return increments;
+        }
+    }
+}
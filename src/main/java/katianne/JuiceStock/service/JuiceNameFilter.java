@@ -0,0 +1,103 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.config.JuiceNameFilterProperties;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+@Component
+public class JuiceNameFilter {
+
+    private final JuiceNameFilterProperties properties;
+    private final JuiceRepository JuiceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long numBits;
+    private final int numHashes;
+    private final AtomicLongArray bits;
+    private volatile boolean loaded;
+
+    public JuiceNameFilter(JuiceNameFilterProperties properties,
+                           JuiceRepository JuiceRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.JuiceRepository = JuiceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        long expectedInsertions = Math.max(1, properties.getExpectedInsertions());
+        double falsePositiveProbability = properties.getFalsePositiveProbability();
+        long optimalBits = (long) (-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.numBits = properties.isEnabled() ? Math.max(Long.SIZE, optimalBits) : Long.SIZE;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((numBits + Long.SIZE - 1) / Long.SIZE));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!isEnabled()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> names = JuiceRepository.streamAllNames()) {
+                names.forEach(this::put);
+            }
+        });
+        loaded = true;
+    }
+
+    public boolean mightContain(String name) {
+        if (!loaded) {
+            return true;
+        }
+        long hash1 = hash1(name);
+        long hash2 = hash2(name);
+        for (int i = 0; i < numHashes; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, numBits);
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void put(String name) {
+        if (!isEnabled()) {
+            return;
+        }
+        long hash1 = hash1(name);
+        long hash2 = hash2(name);
+        for (int i = 0; i < numHashes; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, numBits);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+            long word;
+            do {
+                word = bits.get(wordIndex);
+            } while ((word & mask) == 0 && !bits.compareAndSet(wordIndex, word, word | mask));
+        }
+    }
+
+    private static long hash1(String name) {
+        long hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long hash2(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash | 1;
+    }
+}
@@ -0,0 +1,233 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import katianne.JuiceStock.config.JuiceReservationProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.ReservationDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.ReservationNotFoundException;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class JuiceReservationService {
+
+    private final JuiceRepository JuiceRepository;
+    private final JuiceReservationProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final ConcurrentMap<Long, StockHolds> holdsByJuice = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Hold> holdsById = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<Hold> timingWheel;
+    private final ScheduledExecutorService ticker;
+    private final Counter expiredCounter;
+
+    public JuiceReservationService(JuiceRepository JuiceRepository,
+                                   JuiceReservationProperties properties,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.JuiceRepository = JuiceRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+        this.timingWheel = new HashedTimingWheel<>(System.nanoTime(), properties.getTick(), properties.getMaxTtl(), this::expire);
+        this.ticker = Executors.newSingleThreadScheduledExecutor();
+        long tickNanos = properties.getTick().toNanos();
+        ticker.scheduleAtFixedRate(() -> timingWheel.advance(System.nanoTime()), tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        this.expiredCounter = Counter.builder("juice.reservation.expired")
+                .description("Holds released by the expiry sweep")
+                .register(meterRegistry);
+        Gauge.builder("juice.reservation.active", holdsById, Map::size)
+                .description("Holds currently reserved and not yet confirmed, released or expired")
+                .register(meterRegistry);
+    }
+
+    public ReservationDTO reserve(Long juiceId, int quantityToReserve, Duration ttl) throws JuiceNotFoundException, JuiceStockUnavailableException {
+        StockHolds stockHolds = stockHoldsOf(juiceId);
+        if (!stockHolds.tryHold(quantityToReserve)) {
+            throw new JuiceStockUnavailableException(juiceId, quantityToReserve);
+        }
+        Duration holdTtl = ttl == null ? properties.getTtl() : min(ttl, properties.getMaxTtl());
+        Hold hold = new Hold(UUID.randomUUID().toString(), juiceId, quantityToReserve, stockHolds, clock.instant().plus(holdTtl));
+        holdsById.put(hold.id, hold);
+        hold.timeout = timingWheel.schedule(hold, System.nanoTime() + holdTtl.toNanos());
+        return toReservationDTO(hold);
+    }
+
+    public JuiceDTO confirm(String reservationId) throws ReservationNotFoundException, JuiceNotFoundException, JuiceStockUnavailableException {
+        Hold hold = claim(reservationId);
+        try {
+            JuiceDTO confirmedJuiceDTO = transactionTemplate.execute(status ->
+                    JuiceRepository.decrementQuantity(hold.juiceId, hold.quantity) == 0
+                            ? null
+                            : JuiceRepository.findDTOById(hold.juiceId).orElse(null));
+            if (confirmedJuiceDTO == null) {
+                if (!JuiceRepository.existsById(hold.juiceId)) {
+                    throw new JuiceNotFoundException(hold.juiceId);
+                }
+                throw new JuiceStockUnavailableException(hold.juiceId, hold.quantity);
+            }
+            eventPublisher.publishEvent(JuiceChangedEvent.decremented(confirmedJuiceDTO, hold.quantity));
+            return confirmedJuiceDTO;
+        } finally {
+            hold.stockHolds.release(hold.quantity);
+        }
+    }
+
+    public void release(String reservationId) throws ReservationNotFoundException {
+        Hold hold = claim(reservationId);
+        hold.stockHolds.release(hold.quantity);
+    }
+
+    public int available(Long juiceId) throws JuiceNotFoundException {
+        return stockHoldsOf(juiceId).available();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJuiceChanged(JuiceChangedEvent event) {
+        Long juiceId = event.getJuice().getId();
+        if (event.getChangeType() == JuiceChangeType.DELETED) {
+            holdsByJuice.remove(juiceId);
+        } else {
+            holdsByJuice.computeIfPresent(juiceId, (id, stockHolds) -> {
+                stockHolds.applyQuantity(event.getJuice().getQuantity(), versionOf(event.getJuice()));
+                return stockHolds;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdown();
+    }
+
+    private Hold claim(String reservationId) throws ReservationNotFoundException {
+        Hold hold = holdsById.remove(reservationId);
+        if (hold == null) {
+            throw new ReservationNotFoundException(reservationId);
+        }
+        if (hold.timeout != null) {
+            hold.timeout.cancel();
+        }
+        return hold;
+    }
+
+    private void expire(Hold hold) {
+        if (holdsById.remove(hold.id, hold)) {
+            hold.stockHolds.release(hold.quantity);
+            expiredCounter.increment();
+        }
+    }
+
+    private StockHolds stockHoldsOf(Long juiceId) throws JuiceNotFoundException {
+        StockHolds stockHolds = holdsByJuice.get(juiceId);
+        if (stockHolds == null) {
+            stockHolds = holdsByJuice.computeIfAbsent(juiceId, this::seedFromPrimary);
+        }
+        if (stockHolds == null) {
+            throw new JuiceNotFoundException(juiceId);
+        }
+        return stockHolds;
+    }
+
+    private StockHolds seedFromPrimary(Long juiceId) {
+        return transactionTemplate.execute(status -> JuiceRepository.findDTOById(juiceId))
+                .map(juice -> new StockHolds(juice.getQuantity(), versionOf(juice)))
+                .orElse(null);
+    }
+
+    private static long versionOf(JuiceDTO juice) {
+        return juice.getVersion() == null ? 0L : juice.getVersion();
+    }
+
+    private ReservationDTO toReservationDTO(Hold hold) {
+        return ReservationDTO.builder()
+                .id(hold.id)
+                .juiceId(hold.juiceId)
+                .quantity(hold.quantity)
+                .expiresAt(hold.expiresAt)
+                .available(hold.stockHolds.available())
+                .build();
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static class Hold {
+
+        private final String id;
+        private final Long juiceId;
+        private final int quantity;
+        private final StockHolds stockHolds;
+        private final Instant expiresAt;
+        private volatile HashedTimingWheel.Timeout<Hold> timeout;
+
+        Hold(String id, Long juiceId, int quantity, StockHolds stockHolds, Instant expiresAt) {
+            this.id = id;
+            this.juiceId = juiceId;
+            this.quantity = quantity;
+            this.stockHolds = stockHolds;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class StockHolds {
+
+        private int quantity;
+        private long version;
+        private int held;
+
+        StockHolds(int quantity, long version) {
+            this.quantity = quantity;
+            this.version = version;
+        }
+
+        synchronized boolean tryHold(int quantityToHold) {
+            if (quantity - held < quantityToHold) {
+                return false;
+            }
+            held += quantityToHold;
+            return true;
+        }
+
+        synchronized void release(int quantityToRelease) {
+            held -= quantityToRelease;
+        }
+
+        synchronized void applyQuantity(int quantity, long version) {
+            if (version > this.version) {
+                this.quantity = quantity;
+                this.version = version;
+            }
+        }
+
+        synchronized int available() {
+            return quantity - held;
+        }
+    }
+}
@@ -1,50 +1,232 @@
 package katianne.JuiceStock.service;
 
 import lombok.AllArgsConstructor;
+import katianne.JuiceStock.dto.JuiceBulkDeleteResultDTO;
 import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.StockAdjustmentDTO;
+import katianne.JuiceStock.dto.StockAdjustmentResultDTO;
+import katianne.JuiceStock.dto.StockSummaryDTO;
 import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.enums.StockAdjustmentMode;
+import katianne.JuiceStock.enums.StockAdjustmentStatus;
+import katianne.JuiceStock.enums.StockGrouping;
+import katianne.JuiceStock.event.JuiceChangedEvent;
 import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
 import katianne.JuiceStock.exception.JuiceNotFoundException;
 import katianne.JuiceStock.exception.JuiceStockExceededException;
 import katianne.JuiceStock.mapper.JuiceMapper;
 import katianne.JuiceStock.repository.JuiceRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class JuiceService {
 
+    private static final int MAX_PAGE_LIMIT = 1000;
+
     private final JuiceRepository JuiceRepository;
+    private final JuiceIncrementCoalescer JuiceIncrementCoalescer;
+    private final JuiceCache JuiceCache;
+    private final JuiceNameFilter JuiceNameFilter;
+    private final JuiceStockSummary JuiceStockSummary;
+    private final JuiceETags JuiceETags;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
     private final JuiceMapper JuiceMapper = uiceMapper.INSTANCE;
 
     public JuiceDTO createJuice(JuiceDTO JuiceDTO) throws JuiceAlreadyRegisteredException {
-        verifyIfIsAlreadyRegistered(JuiceDTO.getName());
+        if (JuiceNameFilter.isEnabled() && JuiceNameFilter.mightContain(JuiceDTO.getName())) {
+            verifyIfIsAlreadyRegistered(JuiceDTO.getName());
+        }
         Juice Juice = JuiceMapper.toModel(JuiceDTO);
-        Juice savedJuice = JuiceRepository.save(Juice);
-        return JuiceMapper.toDTO(savedJuice);
+        Juice.setId(null);
+        Juice savedJuice;
+        try {
+            savedJuice = JuiceRepository.saveAndFlush(Juice);
+        } catch (DataIntegrityViolationException e) {
+            if (!isNameConflict(e)) {
+                throw e;
+            }
+            throw new JuiceAlreadyRegisteredException(JuiceDTO.getName());
+        }
+        JuiceNameFilter.put(savedJuice.getName());
+        JuiceDTO savedJuiceDTO = JuiceMapper.toDTO(savedJuice);
+        eventPublisher.publishEvent(JuiceChangedEvent.created(savedJuiceDTO));
+        return savedJuiceDTO;
+    }
+
+    @Transactional(rollbackFor = JuiceAlreadyRegisteredException.class)
+    public List<JuiceDTO> createJuices(List<JuiceDTO> JuiceDTOs) throws JuiceAlreadyRegisteredException {
+        Set<String> names = new LinkedHashSet<>();
+        for (JuiceDTO JuiceDTO : JuiceDTOs) {
+            if (!names.add(JuiceDTO.getName())) {
+                throw new JuiceAlreadyRegisteredException(JuiceDTO.getName());
+            }
+        }
+        List<String> registeredNames = JuiceRepository.findRegisteredNames(names);
+        if (!registeredNames.isEmpty()) {
+            throw new JuiceAlreadyRegisteredException(String.join(", ", registeredNames));
+        }
+
+        List<Juice> Juices = new ArrayList<>(JuiceDTOs.size());
+        for (JuiceDTO JuiceDTO : JuiceDTOs) {
+            Juice Juice = JuiceMapper.toModel(JuiceDTO);
+            Juice.setId(null);
+            Juices.add(Juice);
+        }
+        try {
+            List<Juice> savedJuices = JuiceRepository.saveAll(Juices);
+            JuiceRepository.flush();
+            names.forEach(JuiceNameFilter::put);
+            List<JuiceDTO> savedJuiceDTOs = savedJuices.stream()
+                    .map(JuiceMapper::toDTO)
+                    .collect(Collectors.toList());
+            savedJuiceDTOs.forEach(savedJuiceDTO -> eventPublisher.publishEvent(JuiceChangedEvent.created(savedJuiceDTO)));
+            return savedJuiceDTOs;
+        } catch (DataIntegrityViolationException e) {
+            if (!isNameConflict(e)) {
+                throw e;
+            }
+            entityManager.clear();
+            List<String> conflictingNames = JuiceRepository.findRegisteredNames(names);
+            if (conflictingNames.isEmpty()) {
+                throw e;
+            }
+            throw new JuiceAlreadyRegisteredException(String.join(", ", conflictingNames));
+        }
     }
 
     public JuiceDTO findByName(String name) throws JuiceNotFoundException {
-        Juice foundJuice = JuiceRepository.findByName(name)
+        return JuiceCache.get(name, JuiceRepository::findDTOByName)
                 .orElseThrow(() -> new JuiceNotFoundException(name));
-        return JuiceMapper.toDTO(foundJuice);
     }
 
-    public List<JuiceDTO> listAll() {
-        return JuiceRepository.findAll()
-                .stream()
-                .map(JuiceMapper::toDTO)
-                .collect(Collectors.toList());
+    public String eTagOf(JuiceDTO JuiceDTO) {
+        return JuiceETags.forJuice(JuiceDTO);
+    }
+
+    public String catalogETag(List<JuiceDTO> Juices) {
+        return JuiceETags.forCatalog(Juices);
+    }
+
+    public List<JuiceDTO> findAllById(Collection<Long> ids) {
+        return JuiceRepository.findDTOsByIdIn(ids);
+    }
+
+    public List<JuiceDTO> listAll(Long after, int limit) {
+        int pageLimit = Math.max(1, Math.min(limit, MAX_PAGE_LIMIT));
+        return JuiceRepository.findDTOsByIdGreaterThan(after, PageRequest.of(0, pageLimit));
+    }
+
+    public Page<JuiceDTO> listAll(Pageable pageable) {
+        return JuiceRepository.findAllDTOs(pageable);
+    }
+
+    public List<StockSummaryDTO> summarizeStock(StockGrouping grouping) {
+        return JuiceStockSummary.summarize(grouping);
     }
 
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<JuiceDTO> JuiceDTOConsumer) {
+        try (Stream<Juice> Juices = JuiceRepository.streamAll()) {
+            Juices.forEach(Juice -> {
+                JuiceDTOConsumer.accept(JuiceMapper.toDTO(Juice));
+                entityManager.detach(Juice);
+            });
+        }
+    }
+
+    @Transactional
     public void deleteById(Long id) throws JuiceNotFoundException {
-        verifyIfExists(id);
-        JuiceRepository.deleteById(id);
+        Juice JuiceToDelete = JuiceRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new JuiceNotFoundException(id));
+        JuiceDTO deletedJuiceDTO = JuiceMapper.toDTO(JuiceToDelete);
+        JuiceRepository.deleteRowById(id);
+        eventPublisher.publishEvent(JuiceChangedEvent.deleted(deletedJuiceDTO));
+    }
+
+    @Transactional
+    public JuiceBulkDeleteResultDTO deleteAllById(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        List<Juice> JuicesToDelete = new ArrayList<>(distinctIds.size());
+        for (List<Long> chunk : chunksOf(distinctIds)) {
+            JuicesToDelete.addAll(JuiceRepository.findAllByIdForUpdate(chunk));
+        }
+        return deleteAll(JuicesToDelete);
+    }
+
+    @Transactional
+    public JuiceBulkDeleteResultDTO deleteAllByType(JuiceType type, String brand) {
+        return deleteAll(JuiceRepository.findAllByTypeAndBrandForUpdate(type, brand));
+    }
+
+    private JuiceBulkDeleteResultDTO deleteAll(List<Juice> JuicesToDelete) {
+        List<JuiceDTO> deletedJuicesDTO = new ArrayList<>(JuicesToDelete.size());
+        for (Juice Juice : JuicesToDelete) {
+            deletedJuicesDTO.add(JuiceMapper.toDTO(Juice));
+        }
+        List<Long> ids = deletedJuicesDTO.stream()
+                .map(JuiceDTO::getId)
+                .collect(Collectors.toList());
+        int deletedRows = 0;
+        for (List<Long> chunk : chunksOf(ids)) {
+            deletedRows += JuiceRepository.deleteAllByIdIn(chunk);
+        }
+        if (deletedRows != ids.size()) {
+            throw new ConcurrencyFailureException("Expected to delete " + ids.size() + " juices but deleted " + deletedRows);
+        }
+        deletedJuicesDTO.forEach(deletedJuiceDTO -> eventPublisher.publishEvent(JuiceChangedEvent.deleted(deletedJuiceDTO)));
+        return JuiceBulkDeleteResultDTO.builder()
+                .deleted(deletedRows)
+                .ids(ids)
+                .build();
+    }
+
+    private static List<List<Long>> chunksOf(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_PAGE_LIMIT) {
+            chunks.add(ids.subList(from, Math.min(from + MAX_PAGE_LIMIT, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static boolean isNameConflict(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        String constraintName = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        return constraintName != null && constraintName.toLowerCase(Locale.ROOT).contains(Juice.NAME_CONSTRAINT);
     }
 
     private void verifyIfIsAlreadyRegistered(String name) throws JuiceAlreadyRegisteredException {
@@ -60,13 +242,87 @@ public class JuiceService {
     }
 
     public JuiceDTO increment(Long id, int quantityToIncrement) throws JuiceNotFoundException, JuiceStockExceededException {
-        Juice JuiceToIncrementStock = verifyIfExists(id);
-        int quantityAfterIncrement = quantityToIncrement + JuiceToIncrementStock.getQuantity();
-        if (quantityAfterIncrement <= JuiceToIncrementStock.getMax()) {
-            JuiceToIncrementStock.setQuantity(JuiceToIncrementStock.getQuantity() + quantityToIncrement);
-            Juice incrementedJuiceStock = JuiceRepository.save(JuiceToIncrementStock);
-            return JuiceMapper.toDTO(incrementedJuiceStock);
-        }
-        throw new JuiceStockExceededException(id, quantityToIncrement);
+        JuiceDTO incrementedJuiceDTO = JuiceIncrementCoalescer.isEnabled()
+                ? JuiceIncrementCoalescer.increment(id, quantityToIncrement)
+                : incrementStock(id, quantityToIncrement);
+        eventPublisher.publishEvent(JuiceChangedEvent.incremented(incrementedJuiceDTO, quantityToIncrement));
+        return incrementedJuiceDTO;
+    }
+
+    private JuiceDTO incrementStock(Long id, int quantityToIncrement) throws JuiceNotFoundException, JuiceStockExceededException {
+        JuiceDTO incrementedJuiceDTO = new TransactionTemplate(transactionManager).execute(status ->
+                JuiceRepository.incrementQuantity(id, quantityToIncrement) == 0
+                        ? null
+                        : JuiceRepository.findDTOById(id).orElse(null));
+        if (incrementedJuiceDTO == null) {
+            verifyIfExists(id);
+            throw new JuiceStockExceededException(id, quantityToIncrement);
+        }
+        return incrementedJuiceDTO;
+    }
+
+    @Transactional
+    public List<StockAdjustmentResultDTO> incrementAll(List<StockAdjustmentDTO> adjustments, StockAdjustmentMode mode) {
+        List<Long> ids = adjustments.stream()
+                .map(StockAdjustmentDTO::getId)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        Map<Long, Juice> juicesById = new HashMap<>();
+        for (List<Long> chunk : chunksOf(ids)) {
+            JuiceRepository.findAllByIdForUpdate(chunk)
+                    .forEach(juice -> juicesById.put(juice.getId(), juice));
+        }
+
+        Map<Long, Integer> quantitiesAfterIncrement = new HashMap<>();
+        List<StockAdjustmentResultDTO> results = new ArrayList<>(adjustments.size());
+        boolean allIncremented = true;
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            StockAdjustmentResultDTO result = StockAdjustmentResultDTO.builder()
+                    .id(adjustment.getId())
+                    .quantity(adjustment.getQuantity())
+                    .build();
+            Juice juice = juicesById.get(adjustment.getId());
+            if (juice == null) {
+                result.setStatus(StockAdjustmentStatus.NOT_FOUND);
+            } else {
+                int quantityAfterIncrement = quantitiesAfterIncrement.getOrDefault(juice.getId(), juice.getQuantity())
+                        + adjustment.getQuantity();
+                if (quantityAfterIncrement <= juice.getMax()) {
+                    quantitiesAfterIncrement.put(juice.getId(), quantityAfterIncrement);
+                    JuiceDTO incrementedJuiceDTO = JuiceMapper.toDTO(juice);
+                    incrementedJuiceDTO.setQuantity(quantityAfterIncrement);
+                    incrementedJuiceDTO.setVersion(juice.getVersion() + 1);
+                    result.setStatus(StockAdjustmentStatus.INCREMENTED);
+                    result.setJuice(incrementedJuiceDTO);
+                } else {
+                    result.setStatus(StockAdjustmentStatus.EXCEEDED);
+                }
+            }
+            allIncremented &= result.getStatus() == StockAdjustmentStatus.INCREMENTED;
+            results.add(result);
+        }
+
+        if (mode == StockAdjustmentMode.ALL_OR_NOTHING && !allIncremented) {
+            results.stream()
+                    .filter(result -> result.getStatus() == StockAdjustmentStatus.INCREMENTED)
+                    .forEach(result -> {
+                        result.setStatus(StockAdjustmentStatus.NOT_APPLIED);
+                        result.setJuice(null);
+                    });
+            return results;
+        }
+        quantitiesAfterIncrement.forEach((id, quantity) -> juicesById.get(id).setQuantity(quantity));
+        Map<Long, JuiceDTO> finalJuicesById = new LinkedHashMap<>();
+        Map<Long, Integer> incrementedQuantitiesById = new HashMap<>();
+        for (StockAdjustmentResultDTO result : results) {
+            if (result.getStatus() == StockAdjustmentStatus.INCREMENTED) {
+                finalJuicesById.put(result.getId(), result.getJuice());
+                incrementedQuantitiesById.merge(result.getId(), result.getQuantity(), Integer::sum);
+            }
+        }
+        finalJuicesById.forEach((id, finalJuiceDTO) ->
+                eventPublisher.publishEvent(JuiceChangedEvent.incremented(finalJuiceDTO, incrementedQuantitiesById.get(id))));
+        return results;
     }
 }
@@ -0,0 +1,79 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Aspect
+@Component
+public class JuiceServiceMetricsAspect {
+
+    private static final String OPERATION_TIMER = "juice.operation";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ConcurrentMap<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public JuiceServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Pointcut("execution(public * katianne.JuiceStock.service.JuiceService.create*(..))"
+            + " || execution(public * katianne.JuiceStock.service.JuiceService.find*(..))"
+            + " || execution(public * katianne.JuiceStock.service.JuiceService.list*(..))"
+            + " || execution(public * katianne.JuiceStock.service.JuiceService.summarize*(..))"
+            + " || execution(public * katianne.JuiceStock.service.JuiceService.export*(..))"
+            + " || execution(public * katianne.JuiceStock.service.JuiceService.delete*(..))"
+            + " || execution(public * katianne.JuiceStock.service.JuiceService.increment*(..))")
+    public void juiceOperation() {
+    }
+
+    @Around("juiceOperation()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(timerOf(joinPoint.getSignature().getName(), outcome));
+        }
+    }
+
+    private Timer timerOf(String operation, String outcome) {
+        ConcurrentMap<String, Timer> timersByOutcome = timers.computeIfAbsent(operation, name -> new ConcurrentHashMap<>());
+        Timer timer = timersByOutcome.get(outcome);
+        if (timer == null) {
+            timer = timersByOutcome.computeIfAbsent(outcome, name -> Timer.builder(OPERATION_TIMER)
+                    .description("JuiceService operations by outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+        return timer;
+    }
+
+    private static String outcomeOf(Throwable e) {
+        if (e instanceof JuiceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof JuiceStockExceededException) {
+            return "exceeded";
+        }
+        if (e instanceof JuiceAlreadyRegisteredException) {
+            return "duplicate";
+        }
+        return "error";
+    }
+}
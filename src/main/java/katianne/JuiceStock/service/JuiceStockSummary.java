@@ -0,0 +1,159 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.StockSummaryDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.enums.StockGrouping;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.repository.JuiceRepository;
+import katianne.JuiceStock.repository.JuiceStockTotals;
+import lombok.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+public class JuiceStockSummary implements SmartInitializingSingleton {
+
+    private static final Comparator<StockSummaryDTO> SUMMARY_ORDER = Comparator
+            .comparing(StockSummaryDTO::getType, Comparator.nullsFirst(Comparator.<JuiceType>naturalOrder()))
+            .thenComparing(StockSummaryDTO::getBrand, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private final JuiceRepository JuiceRepository;
+    private final Map<JuiceType, StockTotals> totalsByType = new EnumMap<>(JuiceType.class);
+    private final ConcurrentMap<GroupKey, StockTotals> totalsByTypeAndBrand = new ConcurrentHashMap<>();
+
+    public JuiceStockSummary(JuiceRepository JuiceRepository, MeterRegistry meterRegistry) {
+        this.JuiceRepository = JuiceRepository;
+        for (JuiceType type : JuiceType.values()) {
+            StockTotals totals = new StockTotals();
+            totalsByType.put(type, totals);
+            Gauge.builder("juice.stock.quantity", totals.quantity, AtomicLong::get)
+                    .description("Total stock quantity per juice type")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("juice.stock.capacity", totals.capacity, AtomicLong::get)
+                    .description("Total max stock capacity per juice type")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("juice.stock.fill.ratio", totals, StockTotals::fillRatio)
+                    .description("Stock quantity divided by max capacity per juice type")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (JuiceStockTotals stockTotals : JuiceRepository.sumStockByTypeAndBrand()) {
+            GroupKey key = new GroupKey(stockTotals.getType(), stockTotals.getBrand());
+            for (StockTotals totals : List.of(totalsByType.get(key.type), totalsOf(key))) {
+                totals.quantity.addAndGet(stockTotals.getQuantity());
+                totals.capacity.addAndGet(stockTotals.getCapacity());
+                totals.skus.addAndGet(stockTotals.getSkus());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJuiceChanged(JuiceChangedEvent event) {
+        JuiceDTO JuiceDTO = event.getJuice();
+        if (event.getChangeType() == JuiceChangeType.UPDATED) {
+            onJuiceChanged(JuiceChangedEvent.deleted(event.getPrevious()));
+            onJuiceChanged(JuiceChangedEvent.created(JuiceDTO));
+            return;
+        }
+        GroupKey key = new GroupKey(JuiceDTO.getType(), JuiceDTO.getBrand());
+        for (StockTotals totals : List.of(totalsByType.get(key.type), totalsOf(key))) {
+            totals.quantity.addAndGet(event.getQuantityDelta());
+            if (event.getChangeType() == JuiceChangeType.CREATED) {
+                totals.capacity.addAndGet(JuiceDTO.getMax());
+                totals.skus.incrementAndGet();
+            } else if (event.getChangeType() == JuiceChangeType.DELETED) {
+                totals.capacity.addAndGet(-JuiceDTO.getMax());
+                totals.skus.decrementAndGet();
+            }
+        }
+    }
+
+    public long quantity(JuiceType type) {
+        return totalsByType.get(type).quantity.get();
+    }
+
+    public double fillRatio(JuiceType type) {
+        return totalsByType.get(type).fillRatio();
+    }
+
+    public List<StockSummaryDTO> summarize(StockGrouping grouping) {
+        Map<GroupKey, StockTotals> groups = new HashMap<>();
+        totalsByTypeAndBrand.forEach((key, totals) -> {
+            if (totals.skus.get() > 0) {
+                groups.computeIfAbsent(key.groupedBy(grouping), groupKey -> new StockTotals()).add(totals);
+            }
+        });
+        return groups.entrySet().stream()
+                .map(group -> StockSummaryDTO.builder()
+                        .type(group.getKey().type)
+                        .brand(group.getKey().brand)
+                        .quantity(group.getValue().quantity.get())
+                        .capacity(group.getValue().capacity.get())
+                        .fillRatio(group.getValue().fillRatio())
+                        .skus(group.getValue().skus.get())
+                        .build())
+                .sorted(SUMMARY_ORDER)
+                .collect(Collectors.toList());
+    }
+
+    private StockTotals totalsOf(GroupKey key) {
+        return totalsByTypeAndBrand.computeIfAbsent(key, groupKey -> new StockTotals());
+    }
+
+    @Value
+    private static class GroupKey {
+
+        JuiceType type;
+        String brand;
+
+        GroupKey groupedBy(StockGrouping grouping) {
+            switch (grouping) {
+                case TYPE:
+                    return new GroupKey(type, null);
+                case BRAND:
+                    return new GroupKey(null, brand);
+                default:
+                    return this;
+            }
+        }
+    }
+
+    private static class StockTotals {
+
+        private final AtomicLong quantity = new AtomicLong();
+        private final AtomicLong capacity = new AtomicLong();
+        private final AtomicLong skus = new AtomicLong();
+
+        void add(StockTotals other) {
+            quantity.addAndGet(other.quantity.get());
+            capacity.addAndGet(other.capacity.get());
+            skus.addAndGet(other.skus.get());
+        }
+
+        double fillRatio() {
+            long currentCapacity = capacity.get();
+            return currentCapacity == 0 ? 0 : (double) quantity.get() / currentCapacity;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import katianne.JuiceStock.config.StockLedgerProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.LedgerStockDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.LedgerReplayTooLongException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(prefix = "juice.ledger", name = "enabled", havingValue = "true")
+public class StockLedger {
+
+    static final int RECORD_SIZE = 32;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private static final long ALL_JUICES = Long.MIN_VALUE;
+
+    private static final int MOVEMENT_CREATED = 1;
+    private static final int MOVEMENT_INCREMENTED = 2;
+    private static final int MOVEMENT_DECREMENTED = 3;
+    private static final int MOVEMENT_UPDATED = 4;
+    private static final int MOVEMENT_DELETED = 5;
+
+    private final StockLedgerProperties properties;
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor();
+    private final Counter snapshotFailures;
+    private final NavigableMap<Long, StockLedgerTable> checkpoints = new ConcurrentSkipListMap<>();
+
+    private final StockLedgerTable table;
+    private long sequence;
+    private long lastSnapshotSequence;
+    private MappedByteBuffer segment;
+
+    public StockLedger(StockLedgerProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory());
+        this.recordsPerSegment = (int) Math.max(1, Math.min(Integer.MAX_VALUE / RECORD_SIZE, properties.getSegmentSize().toBytes() / RECORD_SIZE));
+        this.snapshotFailures = Counter.builder("juice.ledger.snapshot.failed")
+                .description("Ledger snapshots that could not be written")
+                .register(meterRegistry);
+        Files.createDirectories(directory);
+
+        long start = System.nanoTime();
+        Replay replay = replay(Long.MAX_VALUE);
+        Timer.builder("juice.ledger.replay")
+                .description("Time to rebuild stock from the latest snapshot and the ledger tail at startup")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        this.table = replay.table;
+        this.sequence = replay.sequence;
+        this.lastSnapshotSequence = replay.snapshotSequence;
+        this.segment = segmentFor(sequence + 1);
+        checkpoint(sequence, table.copy());
+        Gauge.builder("juice.ledger.sequence", this, StockLedger::getSequence)
+                .description("Sequence of the last movement appended to the ledger")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJuiceChanged(JuiceChangedEvent event) {
+        JuiceDTO JuiceDTO = event.getJuice();
+        append(event.getChangeType(), JuiceDTO.getId(), JuiceDTO.getVersion(), JuiceDTO.getQuantity());
+    }
+
+    public synchronized long append(JuiceChangeType changeType, long juiceId, long version, int quantity) {
+        if (!segment.hasRemaining()) {
+            segment.force();
+            segment = segmentFor(sequence + 1);
+        }
+        long nextSequence = sequence + 1;
+        int type = codeOf(changeType);
+        int position = segment.position();
+        segment.putLong(position + 8, juiceId);
+        segment.putLong(position + 16, version);
+        segment.putInt(position + 24, quantity);
+        segment.putInt(position + 28, type);
+        segment.putLong(position, nextSequence);
+        segment.position(position + RECORD_SIZE);
+        if (properties.isForceOnAppend()) {
+            segment.force();
+        }
+        sequence = nextSequence;
+        apply(table, type, juiceId, version, quantity);
+        if (sequence - lastSnapshotSequence >= properties.getSnapshotInterval()) {
+            StockLedgerTable snapshot = table.copy();
+            long snapshotSequence = sequence;
+            lastSnapshotSequence = snapshotSequence;
+            checkpoint(snapshotSequence, snapshot);
+            snapshotWriter.execute(() -> writeSnapshot(snapshot, snapshotSequence));
+        }
+        return sequence;
+    }
+
+    public synchronized boolean appendBaseline(long juiceId, long version, int quantity) {
+        if (version <= table.versionOf(juiceId)) {
+            return false;
+        }
+        append(JuiceChangeType.UPDATED, juiceId, version, quantity);
+        return true;
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized Optional<LedgerStockDTO> stockOf(long juiceId) {
+        return stockOf(table, juiceId, sequence);
+    }
+
+    public Optional<LedgerStockDTO> stockAt(long juiceId, long upToSequence) throws IOException, LedgerReplayTooLongException {
+        long targetSequence = Math.min(upToSequence, getSequence());
+        Map.Entry<Long, StockLedgerTable> checkpoint = checkpoints.floorEntry(targetSequence);
+        if (checkpoint == null) {
+            checkpoint = snapshotAtOrBefore(targetSequence);
+        }
+        long checkpointSequence = checkpoint == null ? 0 : checkpoint.getKey();
+        if (targetSequence - checkpointSequence > properties.getMaxReplayDistance()) {
+            throw new LedgerReplayTooLongException(targetSequence, checkpointSequence, properties.getMaxReplayDistance());
+        }
+        StockLedgerTable juiceStock = new StockLedgerTable(1);
+        if (checkpoint != null && checkpoint.getValue().versionOf(juiceId) != StockLedgerTable.NO_VERSION) {
+            juiceStock.put(juiceId, checkpoint.getValue().get(juiceId), checkpoint.getValue().versionOf(juiceId));
+        }
+        long replayedSequence = replaySegments(juiceStock, checkpointSequence, targetSequence, juiceId);
+        return stockOf(juiceStock, juiceId, replayedSequence);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        snapshotWriter.shutdown();
+        snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+        synchronized (this) {
+            segment.force();
+            if (sequence > lastSnapshotSequence) {
+                writeSnapshot(table.copy(), sequence);
+                lastSnapshotSequence = sequence;
+            }
+        }
+    }
+
+    private Replay replay(long upToSequence) throws IOException {
+        Replay replay = new Replay();
+        Map.Entry<Long, StockLedgerTable> snapshot = snapshotAtOrBefore(upToSequence);
+        if (snapshot != null) {
+            replay.snapshotSequence = snapshot.getKey();
+            replay.table = snapshot.getValue();
+        }
+        replay.sequence = replaySegments(replay.table, replay.snapshotSequence, upToSequence, ALL_JUICES);
+        return replay;
+    }
+
+    private Map.Entry<Long, StockLedgerTable> snapshotAtOrBefore(long upToSequence) throws IOException {
+        for (Path snapshot : files(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX, Comparator.reverseOrder())) {
+            if (sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) <= upToSequence) {
+                try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+                    long snapshotSequence = input.readLong();
+                    return Map.entry(snapshotSequence, StockLedgerTable.readFrom(input));
+                }
+            }
+        }
+        return null;
+    }
+
+    private long replaySegments(StockLedgerTable table, long afterSequence, long upToSequence, long onlyJuiceId) throws IOException {
+        long replayedSequence = afterSequence;
+        segments:
+        for (Path segmentFile : files(SEGMENT_PREFIX, SEGMENT_SUFFIX, Comparator.naturalOrder())) {
+            long firstSequence = sequenceOf(segmentFile, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                long recordCount = channel.size() / RECORD_SIZE;
+                if (firstSequence + recordCount <= replayedSequence + 1) {
+                    continue;
+                }
+                if (firstSequence > replayedSequence + 1) {
+                    break;
+                }
+                MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, recordCount * RECORD_SIZE);
+                for (long position = (replayedSequence + 1 - firstSequence) * RECORD_SIZE; position < records.limit(); position += RECORD_SIZE) {
+                    int offset = (int) position;
+                    long recordSequence = records.getLong(offset);
+                    if (recordSequence != replayedSequence + 1 || recordSequence > upToSequence) {
+                        break segments;
+                    }
+                    long juiceId = records.getLong(offset + 8);
+                    if (onlyJuiceId == ALL_JUICES || onlyJuiceId == juiceId) {
+                        apply(table, records.getInt(offset + 28), juiceId, records.getLong(offset + 16), records.getInt(offset + 24));
+                    }
+                    replayedSequence = recordSequence;
+                }
+            }
+        }
+        return replayedSequence;
+    }
+
+    private void checkpoint(long checkpointSequence, StockLedgerTable checkpointTable) {
+        checkpoints.put(checkpointSequence, checkpointTable);
+        while (checkpoints.size() > properties.getSnapshotsToKeep()) {
+            checkpoints.pollFirstEntry();
+        }
+    }
+
+    private MappedByteBuffer segmentFor(long nextSequence) {
+        try {
+            for (Path segmentFile : files(SEGMENT_PREFIX, SEGMENT_SUFFIX, Comparator.reverseOrder())) {
+                long firstSequence = sequenceOf(segmentFile, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+                if (firstSequence > nextSequence) {
+                    Files.delete(segmentFile);
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    long capacity = channel.size() / RECORD_SIZE * RECORD_SIZE;
+                    long position = (nextSequence - firstSequence) * RECORD_SIZE;
+                    if (position < capacity) {
+                        MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                        for (int offset = (int) position; offset < capacity; offset += Long.BYTES) {
+                            existing.putLong(offset, 0L);
+                        }
+                        existing.force();
+                        existing.position((int) position);
+                        return existing;
+                    }
+                }
+                break;
+            }
+            Path segmentFile = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSnapshot(StockLedgerTable snapshot, long snapshotSequence) {
+        Path snapshotFile = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, snapshotSequence, SNAPSHOT_SUFFIX));
+        Path temporaryFile = directory.resolve(snapshotFile.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+                output.writeLong(snapshotSequence);
+                snapshot.writeTo(output);
+                output.flush();
+                channel.force(true);
+            }
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            List<Path> snapshots = files(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX, Comparator.reverseOrder());
+            for (Path expired : snapshots.subList(Math.min(properties.getSnapshotsToKeep(), snapshots.size()), snapshots.size())) {
+                Files.deleteIfExists(expired);
+            }
+        } catch (IOException e) {
+            snapshotFailures.increment();
+        }
+    }
+
+    private List<Path> files(String prefix, String suffix, Comparator<String> order) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(prefix) && file.getFileName().toString().endsWith(suffix))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString(), order))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static Optional<LedgerStockDTO> stockOf(StockLedgerTable table, long juiceId, long sequence) {
+        if (!table.contains(juiceId)) {
+            return Optional.empty();
+        }
+        return Optional.of(LedgerStockDTO.builder()
+                .juiceId(juiceId)
+                .quantity(table.get(juiceId))
+                .sequence(sequence)
+                .build());
+    }
+
+    private static void apply(StockLedgerTable table, int type, long juiceId, long version, int quantity) {
+        switch (type) {
+            case MOVEMENT_CREATED:
+            case MOVEMENT_UPDATED:
+                if (version > table.versionOf(juiceId)) {
+                    table.put(juiceId, quantity, version);
+                }
+                break;
+            case MOVEMENT_INCREMENTED:
+            case MOVEMENT_DECREMENTED:
+                if (table.contains(juiceId) && version > table.versionOf(juiceId)) {
+                    table.put(juiceId, quantity, version);
+                }
+                break;
+            case MOVEMENT_DELETED:
+                if (version >= table.versionOf(juiceId)) {
+                    table.delete(juiceId, version);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown ledger movement type " + type);
+        }
+    }
+
+    private static int codeOf(JuiceChangeType changeType) {
+        switch (changeType) {
+            case CREATED:
+                return MOVEMENT_CREATED;
+            case INCREMENTED:
+                return MOVEMENT_INCREMENTED;
+            case DECREMENTED:
+                return MOVEMENT_DECREMENTED;
+            case UPDATED:
+                return MOVEMENT_UPDATED;
+            case DELETED:
+                return MOVEMENT_DELETED;
+            default:
+                throw new IllegalArgumentException("Unknown change type " + changeType);
+        }
+    }
+
+    private static class Replay {
+
+        private StockLedgerTable table = new StockLedgerTable();
+        private long sequence;
+        private long snapshotSequence;
+    }
+}
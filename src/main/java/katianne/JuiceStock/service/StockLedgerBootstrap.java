@@ -0,0 +1,46 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "juice.ledger", name = "enabled", havingValue = "true")
+public class StockLedgerBootstrap implements SmartInitializingSingleton {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final StockLedger stockLedger;
+    private final JuiceRepository JuiceRepository;
+    private final Counter baselines;
+
+    public StockLedgerBootstrap(StockLedger stockLedger, JuiceRepository JuiceRepository, MeterRegistry meterRegistry) {
+        this.stockLedger = stockLedger;
+        this.JuiceRepository = JuiceRepository;
+        this.baselines = Counter.builder("juice.ledger.baselines")
+                .description("Juices missing from or behind the ledger whose catalog quantity was appended as a baseline at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long after = 0L;
+        List<JuiceDTO> page;
+        do {
+            page = JuiceRepository.findDTOsByIdGreaterThan(after, PageRequest.of(0, PAGE_SIZE));
+            for (JuiceDTO JuiceDTO : page) {
+                if (stockLedger.appendBaseline(JuiceDTO.getId(), JuiceDTO.getVersion(), JuiceDTO.getQuantity())) {
+                    baselines.increment();
+                }
+                after = JuiceDTO.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+}
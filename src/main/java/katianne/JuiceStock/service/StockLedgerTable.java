@@ -0,0 +1,127 @@
+package katianne.JuiceStock.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+class StockLedgerTable {
+
+    static final long NO_VERSION = Long.MIN_VALUE;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private long[] versions;
+    private int size;
+
+    StockLedgerTable() {
+        this(1024);
+    }
+
+    StockLedgerTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        versions = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long juiceId) {
+        int slot = slotOf(juiceId);
+        return keys[slot] == juiceId && values[slot] != MISSING;
+    }
+
+    int get(long juiceId) {
+        int slot = slotOf(juiceId);
+        return keys[slot] == juiceId ? values[slot] : MISSING;
+    }
+
+    long versionOf(long juiceId) {
+        int slot = slotOf(juiceId);
+        return keys[slot] == juiceId ? versions[slot] : NO_VERSION;
+    }
+
+    void put(long juiceId, int quantity, long version) {
+        int slot = slotOf(juiceId);
+        values[slot] = quantity;
+        versions[slot] = version;
+        if (keys[slot] != juiceId) {
+            keys[slot] = juiceId;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+        }
+    }
+
+    void delete(long juiceId, long version) {
+        put(juiceId, MISSING, version);
+    }
+
+    StockLedgerTable copy() {
+        StockLedgerTable copy = new StockLedgerTable(0);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.versions = versions.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    void writeTo(DataOutputStream output) throws IOException {
+        output.writeInt(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                output.writeLong(keys[slot]);
+                output.writeInt(values[slot]);
+                output.writeLong(versions[slot]);
+            }
+        }
+    }
+
+    static StockLedgerTable readFrom(DataInputStream input) throws IOException {
+        int entries = input.readInt();
+        StockLedgerTable table = new StockLedgerTable(entries);
+        for (int i = 0; i < entries; i++) {
+            table.put(input.readLong(), input.readInt(), input.readLong());
+        }
+        return table;
+    }
+
+    private int slotOf(long juiceId) {
+        int mask = keys.length - 1;
+        int slot = hash(juiceId) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != juiceId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        long[] oldVersions = versions;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        versions = new long[oldVersions.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int newSlot = slotOf(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+                versions[newSlot] = oldVersions[slot];
+            }
+        }
+    }
+
+    private static int hash(long juiceId) {
+        long mixed = juiceId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
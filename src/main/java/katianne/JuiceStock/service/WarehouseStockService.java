@@ -0,0 +1,453 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import katianne.JuiceStock.config.WarehouseShardingProperties;
+import katianne.JuiceStock.config.WarehouseShards;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.WarehouseStockDTO;
+import katianne.JuiceStock.dto.WarehouseStockListDTO;
+import katianne.JuiceStock.dto.WarehouseStockTotalDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.WarehouseStockNotFoundException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnProperty(prefix = "juice.warehouse.sharding", name = "enabled", havingValue = "true")
+public class WarehouseStockService implements SmartInitializingSingleton {
+
+    private static final int RECONCILE_PAGE_SIZE = 1000;
+
+    private static final String STOCK_QUERY = "SELECT warehouse_id, juice_id, name, brand, type, quantity, max FROM warehouse_stock";
+
+    private static final RowMapper<WarehouseStockDTO> WAREHOUSE_STOCK_MAPPER = (resultSet, rowNum) -> WarehouseStockDTO.builder()
+            .warehouseId(resultSet.getLong("warehouse_id"))
+            .juiceId(resultSet.getLong("juice_id"))
+            .name(resultSet.getString("name"))
+            .brand(resultSet.getString("brand"))
+            .type(JuiceType.valueOf(resultSet.getString("type")))
+            .quantity(resultSet.getInt("quantity"))
+            .max(resultSet.getInt("max"))
+            .build();
+
+    private static final RowMapper<JuiceDTO> SHARD_CATALOG_MAPPER = (resultSet, rowNum) -> new JuiceDTO(
+            resultSet.getLong("juice_id"),
+            resultSet.getString("name"),
+            resultSet.getString("brand"),
+            0,
+            0,
+            JuiceType.valueOf(resultSet.getString("type")));
+
+    private static final Comparator<WarehouseStockDTO> BY_NAME_AND_WAREHOUSE = Comparator.comparing(WarehouseStockDTO::getName)
+            .thenComparing(WarehouseStockDTO::getWarehouseId);
+
+    private final WarehouseShards warehouseShards;
+    private final WarehouseShardingProperties properties;
+    private final JuiceService JuiceService;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService fanOutExecutor;
+    private final ScheduledExecutorService catalogSync;
+    private final List<ConcurrentMap<Long, JuiceChangedEvent>> pendingCatalogChanges = new ArrayList<>();
+    private final List<Timer> catalogSyncTimers = new ArrayList<>();
+    private final List<Counter> catalogSyncFailures = new ArrayList<>();
+    private final Set<Integer> unreconciledShards = ConcurrentHashMap.newKeySet();
+    private final Counter catalogReconciled;
+
+    public WarehouseStockService(WarehouseShards warehouseShards,
+                                 WarehouseShardingProperties properties,
+                                 JuiceService JuiceService,
+                                 MeterRegistry meterRegistry) {
+        this.warehouseShards = warehouseShards;
+        this.properties = properties;
+        this.JuiceService = JuiceService;
+        this.meterRegistry = meterRegistry;
+        this.fanOutExecutor = Executors.newFixedThreadPool(properties.getFanOutThreads());
+        for (int shardIndex = 0; shardIndex < warehouseShards.size(); shardIndex++) {
+            pendingCatalogChanges.add(new ConcurrentHashMap<>());
+            catalogSyncTimers.add(Timer.builder("juice.warehouse.catalog.sync")
+                    .description("Time spent applying pending catalog changes to a shard")
+                    .tag("shard", String.valueOf(shardIndex))
+                    .register(meterRegistry));
+            catalogSyncFailures.add(Counter.builder("juice.warehouse.catalog.sync.failed")
+                    .description("Catalog change batches that failed on a shard and were kept for retry")
+                    .tag("shard", String.valueOf(shardIndex))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("juice.warehouse.catalog.sync.pending", pendingCatalogChanges,
+                        pending -> pending.stream().mapToInt(Map::size).sum())
+                .description("Catalog changes not yet applied to every shard")
+                .register(meterRegistry);
+        this.catalogReconciled = Counter.builder("juice.warehouse.catalog.reconciled")
+                .description("Shard rows found out of date with the catalog at startup and queued for sync")
+                .register(meterRegistry);
+        long intervalMillis = properties.getCatalogSyncInterval().toMillis();
+        this.catalogSync = Executors.newSingleThreadScheduledExecutor();
+        this.catalogSync.scheduleWithFixedDelay(this::syncCatalog, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public WarehouseStockDTO putStock(long warehouseId, String name, WarehouseStockDTO stock) throws JuiceNotFoundException, JuiceStockExceededException {
+        JuiceDTO JuiceDTO = JuiceService.findByName(name);
+        if (stock.getQuantity() > stock.getMax()) {
+            throw new JuiceStockExceededException(JuiceDTO.getId(), stock.getQuantity());
+        }
+        WarehouseStockDTO warehouseStock = WarehouseStockDTO.builder()
+                .warehouseId(warehouseId)
+                .juiceId(JuiceDTO.getId())
+                .name(JuiceDTO.getName())
+                .brand(JuiceDTO.getBrand())
+                .type(JuiceDTO.getType())
+                .quantity(stock.getQuantity())
+                .max(stock.getMax())
+                .build();
+        warehouseShards.shardFor(warehouseId).update("MERGE INTO warehouse_stock (warehouse_id, juice_id, name, brand, type, quantity, max) " +
+                "KEY (warehouse_id, juice_id) VALUES (:warehouseId, :juiceId, :name, :brand, :type, :quantity, :max)", parametersOf(warehouseStock));
+        return warehouseStock;
+    }
+
+    public WarehouseStockDTO increment(long warehouseId, String name, int quantityToIncrement)
+            throws JuiceNotFoundException, WarehouseStockNotFoundException, JuiceStockExceededException {
+        JuiceDTO JuiceDTO = JuiceService.findByName(name);
+        if (adjust(warehouseId, JuiceDTO.getId(), quantityToIncrement) == 0) {
+            findStock(warehouseId, JuiceDTO);
+            throw new JuiceStockExceededException(JuiceDTO.getId(), quantityToIncrement);
+        }
+        return findStock(warehouseId, JuiceDTO);
+    }
+
+    public WarehouseStockDTO decrement(long warehouseId, String name, int quantityToDecrement)
+            throws JuiceNotFoundException, WarehouseStockNotFoundException, JuiceStockUnavailableException {
+        JuiceDTO JuiceDTO = JuiceService.findByName(name);
+        if (adjust(warehouseId, JuiceDTO.getId(), -quantityToDecrement) == 0) {
+            findStock(warehouseId, JuiceDTO);
+            throw new JuiceStockUnavailableException(JuiceDTO.getId(), quantityToDecrement);
+        }
+        return findStock(warehouseId, JuiceDTO);
+    }
+
+    public List<WarehouseStockDTO> findByWarehouse(long warehouseId) {
+        return warehouseShards.shardFor(warehouseId).query(STOCK_QUERY + " WHERE warehouse_id = :warehouseId ORDER BY name",
+                Map.of("warehouseId", warehouseId), WAREHOUSE_STOCK_MAPPER);
+    }
+
+    public WarehouseStockTotalDTO totalByName(String name) {
+        List<Long> renamedJuiceIds = juiceIdsPendingAs(JuiceDTO -> name.equals(JuiceDTO.getName()));
+        ShardResults<List<WarehouseStockTotalRow>> results = fanOut("total", shard -> shard.query(
+                "SELECT warehouse_id, juice_id, name, quantity, max FROM warehouse_stock WHERE name = :name" + orJuiceIdIn(renamedJuiceIds),
+                Map.of("name", name, "juiceIds", renamedJuiceIds),
+                (resultSet, rowNum) -> new WarehouseStockTotalRow(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3),
+                        resultSet.getLong(4), resultSet.getLong(5))));
+        WarehouseStockTotalDTO total = WarehouseStockTotalDTO.builder()
+                .name(name)
+                .unavailableShards(results.unavailableShards)
+                .build();
+        for (List<WarehouseStockTotalRow> shardRows : results.values) {
+            for (WarehouseStockTotalRow row : shardRows) {
+                JuiceChangedEvent pendingChange = pendingChangeOf(row.warehouseId, row.juiceId);
+                if (pendingChange != null && pendingChange.getChangeType() == JuiceChangeType.DELETED) {
+                    continue;
+                }
+                String currentName = pendingChange != null ? pendingChange.getJuice().getName() : row.name;
+                if (!name.equals(currentName)) {
+                    continue;
+                }
+                total.setQuantity(total.getQuantity() + row.quantity);
+                total.setMax(total.getMax() + row.max);
+                total.setWarehouses(total.getWarehouses() + 1);
+            }
+        }
+        return total;
+    }
+
+    public WarehouseStockListDTO findByType(JuiceType type) {
+        List<Long> retypedJuiceIds = juiceIdsPendingAs(JuiceDTO -> JuiceDTO.getType() == type);
+        ShardResults<List<WarehouseStockDTO>> results = fanOut("type", shard -> shard.query(STOCK_QUERY + " WHERE type = :type" + orJuiceIdIn(retypedJuiceIds),
+                Map.of("type", type.name(), "juiceIds", retypedJuiceIds), WAREHOUSE_STOCK_MAPPER));
+        List<WarehouseStockDTO> stock = results.values.stream()
+                .flatMap(List::stream)
+                .map(this::withPendingCatalogChange)
+                .filter(warehouseStock -> warehouseStock != null && warehouseStock.getType() == type)
+                .sorted(BY_NAME_AND_WAREHOUSE)
+                .collect(Collectors.toList());
+        return WarehouseStockListDTO.builder()
+                .stock(stock)
+                .unavailableShards(results.unavailableShards)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJuiceChanged(JuiceChangedEvent event) {
+        if (event.getChangeType() == JuiceChangeType.DELETED || event.getChangeType() == JuiceChangeType.UPDATED) {
+            pendingCatalogChanges.forEach(pending -> pending.put(event.getJuice().getId(), event));
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcileCatalog();
+    }
+
+    public synchronized void reconcileCatalog() {
+        for (int shardIndex = 0; shardIndex < warehouseShards.size(); shardIndex++) {
+            unreconciledShards.add(shardIndex);
+        }
+        reconcileUnreconciledShards();
+    }
+
+    public synchronized void syncCatalog() {
+        reconcileUnreconciledShards();
+        for (int shardIndex = 0; shardIndex < warehouseShards.size(); shardIndex++) {
+            ConcurrentMap<Long, JuiceChangedEvent> pending = pendingCatalogChanges.get(shardIndex);
+            while (!pending.isEmpty()) {
+                List<JuiceChangedEvent> batch = drain(pending);
+                try {
+                    NamedParameterJdbcTemplate shard = warehouseShards.shard(shardIndex);
+                    catalogSyncTimers.get(shardIndex).record(() -> applyCatalogChanges(shard, batch));
+                } catch (RuntimeException e) {
+                    batch.forEach(change -> pending.putIfAbsent(change.getJuice().getId(), change));
+                    catalogSyncFailures.get(shardIndex).increment();
+                    break;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        catalogSync.shutdown();
+        syncCatalog();
+        fanOutExecutor.shutdownNow();
+    }
+
+    private void reconcileUnreconciledShards() {
+        for (Integer shardIndex : unreconciledShards) {
+            try {
+                reconcileShard(shardIndex);
+                unreconciledShards.remove(shardIndex);
+            } catch (RuntimeException e) {
+                catalogSyncFailures.get(shardIndex).increment();
+            }
+        }
+    }
+
+    private void reconcileShard(int shardIndex) {
+        ConcurrentMap<Long, JuiceChangedEvent> pending = pendingCatalogChanges.get(shardIndex);
+        List<JuiceDTO> shardJuices = warehouseShards.shard(shardIndex).query(
+                "SELECT DISTINCT juice_id, name, brand, type FROM warehouse_stock ORDER BY juice_id", Map.of(), SHARD_CATALOG_MAPPER);
+        for (int from = 0; from < shardJuices.size(); from += RECONCILE_PAGE_SIZE) {
+            List<JuiceDTO> page = shardJuices.subList(from, Math.min(from + RECONCILE_PAGE_SIZE, shardJuices.size()));
+            Map<Long, JuiceDTO> catalog = JuiceService.findAllById(page.stream().map(JuiceDTO::getId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(JuiceDTO::getId, Function.identity()));
+            for (JuiceDTO shardJuice : page) {
+                JuiceDTO catalogJuice = catalog.get(shardJuice.getId());
+                JuiceChangedEvent change = null;
+                if (catalogJuice == null) {
+                    change = JuiceChangedEvent.deleted(shardJuice);
+                } else if (!catalogJuice.getName().equals(shardJuice.getName())
+                        || !catalogJuice.getBrand().equals(shardJuice.getBrand())
+                        || catalogJuice.getType() != shardJuice.getType()) {
+                    change = JuiceChangedEvent.updated(shardJuice, catalogJuice);
+                }
+                if (change != null && pending.putIfAbsent(shardJuice.getId(), change) == null) {
+                    catalogReconciled.increment();
+                }
+            }
+        }
+    }
+
+    private List<JuiceChangedEvent> drain(ConcurrentMap<Long, JuiceChangedEvent> pending) {
+        List<JuiceChangedEvent> batch = new ArrayList<>();
+        for (Map.Entry<Long, JuiceChangedEvent> entry : pending.entrySet()) {
+            if (batch.size() >= properties.getCatalogSyncBatchSize()) {
+                break;
+            }
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    private void applyCatalogChanges(NamedParameterJdbcTemplate shard, List<JuiceChangedEvent> batch) {
+        List<Long> deletedIds = new ArrayList<>();
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        for (JuiceChangedEvent change : batch) {
+            JuiceDTO JuiceDTO = change.getJuice();
+            if (change.getChangeType() == JuiceChangeType.DELETED) {
+                deletedIds.add(JuiceDTO.getId());
+            } else {
+                updates.add(new MapSqlParameterSource()
+                        .addValue("juiceId", JuiceDTO.getId())
+                        .addValue("name", JuiceDTO.getName())
+                        .addValue("brand", JuiceDTO.getBrand())
+                        .addValue("type", JuiceDTO.getType().name()));
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            shard.update("DELETE FROM warehouse_stock WHERE juice_id IN (:juiceIds)", Map.of("juiceIds", deletedIds));
+        }
+        if (!updates.isEmpty()) {
+            shard.batchUpdate("UPDATE warehouse_stock SET name = :name, brand = :brand, type = :type WHERE juice_id = :juiceId",
+                    updates.toArray(new SqlParameterSource[0]));
+        }
+    }
+
+    private List<Long> juiceIdsPendingAs(Predicate<JuiceDTO> matches) {
+        return pendingCatalogChanges.stream()
+                .flatMap(pending -> pending.values().stream())
+                .filter(change -> change.getChangeType() == JuiceChangeType.UPDATED && matches.test(change.getJuice()))
+                .map(change -> change.getJuice().getId())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static String orJuiceIdIn(List<Long> juiceIds) {
+        return juiceIds.isEmpty() ? "" : " OR juice_id IN (:juiceIds)";
+    }
+
+    private JuiceChangedEvent pendingChangeOf(long warehouseId, long juiceId) {
+        return pendingCatalogChanges.get(warehouseShards.shardOf(warehouseId)).get(juiceId);
+    }
+
+    private WarehouseStockDTO withPendingCatalogChange(WarehouseStockDTO warehouseStock) {
+        JuiceChangedEvent pendingChange = pendingChangeOf(warehouseStock.getWarehouseId(), warehouseStock.getJuiceId());
+        if (pendingChange == null) {
+            return warehouseStock;
+        }
+        if (pendingChange.getChangeType() == JuiceChangeType.DELETED) {
+            return null;
+        }
+        JuiceDTO JuiceDTO = pendingChange.getJuice();
+        warehouseStock.setName(JuiceDTO.getName());
+        warehouseStock.setBrand(JuiceDTO.getBrand());
+        warehouseStock.setType(JuiceDTO.getType());
+        return warehouseStock;
+    }
+
+    private int adjust(long warehouseId, Long juiceId, int delta) {
+        return warehouseShards.shardFor(warehouseId).update("UPDATE warehouse_stock SET quantity = quantity + :delta " +
+                        "WHERE warehouse_id = :warehouseId AND juice_id = :juiceId AND quantity + :delta BETWEEN 0 AND max",
+                Map.of("warehouseId", warehouseId, "juiceId", juiceId, "delta", delta));
+    }
+
+    private WarehouseStockDTO findStock(long warehouseId, JuiceDTO JuiceDTO) throws WarehouseStockNotFoundException {
+        List<WarehouseStockDTO> stock = warehouseShards.shardFor(warehouseId).query(STOCK_QUERY + " WHERE warehouse_id = :warehouseId AND juice_id = :juiceId",
+                Map.of("warehouseId", warehouseId, "juiceId", JuiceDTO.getId()), WAREHOUSE_STOCK_MAPPER);
+        if (stock.isEmpty()) {
+            throw new WarehouseStockNotFoundException(warehouseId, JuiceDTO.getName());
+        }
+        return stock.get(0);
+    }
+
+    private <T> ShardResults<T> fanOut(String query, Function<NamedParameterJdbcTemplate, T> shardQuery) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(warehouseShards.size());
+        for (int shardIndex = 0; shardIndex < warehouseShards.size(); shardIndex++) {
+            NamedParameterJdbcTemplate shard = warehouseShards.shard(shardIndex);
+            Timer timer = Timer.builder("juice.warehouse.shard.query")
+                    .tag("query", query)
+                    .tag("shard", String.valueOf(shardIndex))
+                    .register(meterRegistry);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return shardQuery.apply(shard);
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }, fanOutExecutor));
+        }
+
+        ShardResults<T> results = new ShardResults<>();
+        long deadline = System.nanoTime() + properties.getShardTimeout().toNanos();
+        for (int shardIndex = 0; shardIndex < futures.size(); shardIndex++) {
+            CompletableFuture<T> future = futures.get(shardIndex);
+            try {
+                results.values.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException | ExecutionException e) {
+                future.cancel(true);
+                unavailable(query, shardIndex, results);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                unavailable(query, shardIndex, results);
+            }
+        }
+        return results;
+    }
+
+    private void unavailable(String query, int shardIndex, ShardResults<?> results) {
+        results.unavailableShards.add(shardIndex);
+        Counter.builder("juice.warehouse.shard.unavailable")
+                .description("Shard queries that failed or missed the per-shard timeout")
+                .tag("query", query)
+                .tag("shard", String.valueOf(shardIndex))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static MapSqlParameterSource parametersOf(WarehouseStockDTO warehouseStock) {
+        return new MapSqlParameterSource()
+                .addValue("warehouseId", warehouseStock.getWarehouseId())
+                .addValue("juiceId", warehouseStock.getJuiceId())
+                .addValue("name", warehouseStock.getName())
+                .addValue("brand", warehouseStock.getBrand())
+                .addValue("type", warehouseStock.getType().name())
+                .addValue("quantity", warehouseStock.getQuantity())
+                .addValue("max", warehouseStock.getMax());
+    }
+
+    private static class WarehouseStockTotalRow {
+
+        private final long warehouseId;
+        private final long juiceId;
+        private final String name;
+        private final long quantity;
+        private final long max;
+
+        WarehouseStockTotalRow(long warehouseId, long juiceId, String name, long quantity, long max) {
+            this.warehouseId = warehouseId;
+            this.juiceId = juiceId;
+            this.name = name;
+            this.quantity = quantity;
+            this.max = max;
+        }
+    }
+
+    private static class ShardResults<T> {
+
+        private final List<T> values = new ArrayList<>();
+        private final List<Integer> unavailableShards = new ArrayList<>();
+    }
+}
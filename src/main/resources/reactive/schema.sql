@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS juice (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    brand VARCHAR(255) NOT NULL,
+    max INT NOT NULL,
+    quantity INT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_juice_name UNIQUE (name)
+);
@@ -0,0 +1 @@
+CREATE LINKED TABLE IF NOT EXISTS juice('org.h2.Driver', 'jdbc:h2:mem:juicestock-primary', 'sa', '', 'JUICE') READONLY;
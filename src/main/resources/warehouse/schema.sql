@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS warehouse_stock (
+    warehouse_id BIGINT NOT NULL,
+    juice_id BIGINT NOT NULL,
+    name VARCHAR(200) NOT NULL,
+    brand VARCHAR(200) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    quantity INT NOT NULL,
+    max INT NOT NULL,
+    PRIMARY KEY (warehouse_id, juice_id)
+);
+CREATE INDEX IF NOT EXISTS warehouse_stock_name ON warehouse_stock (name);
+CREATE INDEX IF NOT EXISTS warehouse_stock_type ON warehouse_stock (type);
+CREATE INDEX IF NOT EXISTS warehouse_stock_juice ON warehouse_stock (juice_id);
@@ -0,0 +1,86 @@
+package katianne.JuiceStock.benchmark;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.repository.JuiceRepository;
+import katianne.JuiceStock.service.JuiceService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class JuiceBatchCreationBenchmark {
+
+    private static final int JUICES = 5000;
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        JuiceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createJuiceLoop() throws Exception {
+        List<JuiceDTO> JuiceDTOs = juices("loop");
+        Statistics statistics = statistics();
+
+        long start = System.nanoTime();
+        for (JuiceDTO JuiceDTO : JuiceDTOs) {
+            JuiceService.createJuice(JuiceDTO);
+        }
+        report("createJuice loop", start, statistics);
+
+        assertThat(JuiceRepository.count(), equalTo((long) JUICES));
+    }
+
+    @Test
+    void createJuicesBatch() throws Exception {
+        List<JuiceDTO> JuiceDTOs = juices("batch");
+        Statistics statistics = statistics();
+
+        long start = System.nanoTime();
+        JuiceService.createJuices(JuiceDTOs);
+        report("createJuices batch", start, statistics);
+
+        assertThat(JuiceRepository.count(), equalTo((long) JUICES));
+    }
+
+    private List<JuiceDTO> juices(String prefix) {
+        return IntStream.range(0, JUICES)
+                .mapToObj(i -> JuiceDTOBuilder.builder().id(null).name(prefix + "-" + i).build().toJuiceDTO())
+                .collect(Collectors.toList());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private void report(String name, long start, Statistics statistics) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%s: %d juices in %d ms, %d statements prepared, %d transactions%n",
+                name, JUICES, elapsedMillis, statistics.getPrepareStatementCount(), statistics.getTransactionCount());
+    }
+}
@@ -0,0 +1,86 @@
+package katianne.JuiceStock.benchmark;
+
+import katianne.JuiceStock.dto.JuiceImportResultDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.repository.JuiceRepository;
+import katianne.JuiceStock.service.JuiceCsvService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class JuiceCsvImportBenchmark {
+
+    @Autowired
+    private JuiceCsvService JuiceCsvService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${benchmark.csv.rows:300000}")
+    private int rows;
+
+    @AfterEach
+    void tearDown() {
+        JuiceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importThenReimportWithNewQuantities() throws Exception {
+        byte[] insertCsv = csv(10);
+        byte[] updateCsv = csv(20);
+        Statistics statistics = statistics();
+
+        long start = System.nanoTime();
+        JuiceImportResultDTO inserted = JuiceCsvService.importCsv(new ByteArrayInputStream(insertCsv));
+        report("csv insert", start, statistics);
+
+        statistics.clear();
+        start = System.nanoTime();
+        JuiceImportResultDTO updated = JuiceCsvService.importCsv(new ByteArrayInputStream(updateCsv));
+        report("csv upsert", start, statistics);
+
+        assertThat(inserted.getCreated(), equalTo((long) rows));
+        assertThat(updated.getUpdated(), equalTo((long) rows));
+        assertThat(JuiceRepository.count(), equalTo((long) rows));
+    }
+
+    private byte[] csv(int quantity) {
+        JuiceType[] types = JuiceType.values();
+        StringBuilder csv = new StringBuilder(rows * 48).append("name,brand,max,quantity,type\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("csv-").append(i).append(",Del Valle,100,").append(quantity).append(',')
+                    .append(types[i % types.length].name()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private void report(String name, long start, Statistics statistics) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%s: %d rows in %d ms (%d rows/min), %d statements prepared, %d transactions%n",
+                name, rows, elapsedMillis, rows * 60_000L / elapsedMillis,
+                statistics.getPrepareStatementCount(), statistics.getTransactionCount());
+    }
+}
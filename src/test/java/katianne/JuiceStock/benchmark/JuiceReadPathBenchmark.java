@@ -0,0 +1,93 @@
+package katianne.JuiceStock.benchmark;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.mapper.JuiceMapper;
+import katianne.JuiceStock.repository.JuiceRepository;
+import katianne.JuiceStock.service.JuiceService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class JuiceReadPathBenchmark {
+
+    private static final int JUICES = 1000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1000;
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final JuiceMapper juiceMapper = JuiceMapper.INSTANCE;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        JuiceService.createJuices(IntStream.range(0, JUICES)
+                .mapToObj(i -> JuiceDTOBuilder.builder().id(null).name("read-" + i).build().toJuiceDTO())
+                .collect(Collectors.toList()));
+    }
+
+    @AfterAll
+    void tearDown() {
+        JuiceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void entityHydrationVersusDTOProjection() {
+        TransactionTemplate readWriteTransaction = new TransactionTemplate(transactionManager);
+        Supplier<List<JuiceDTO>> entityPath = () -> readWriteTransaction.execute(status ->
+                JuiceRepository.findAll(PageRequest.of(0, JUICES, Sort.by("id")))
+                        .stream()
+                        .map(juiceMapper::toDTO)
+                        .collect(Collectors.toList()));
+        Supplier<List<JuiceDTO>> projectionPath = () -> JuiceService.listAll(0L, JUICES);
+
+        assertThat(entityPath.get(), equalTo(projectionPath.get()));
+
+        report("entity + JuiceMapper", entityPath);
+        report("JuiceDTO projection", projectionPath);
+    }
+
+    private void report(String name, Supplier<List<JuiceDTO>> readPath) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            readPath.get();
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            readPath.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%s: %d rows, %.1f us/op, %d bytes allocated/op%n",
+                name, JUICES, elapsedNanos / 1_000.0 / ITERATIONS, allocatedBytes / ITERATIONS);
+    }
+}
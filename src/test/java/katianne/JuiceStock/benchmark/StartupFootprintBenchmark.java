@@ -0,0 +1,142 @@
+package katianne.JuiceStock.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("startup")
+public class StartupFootprintBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(60);
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void compareJvmJarWithNativeImage() throws Exception {
+        assumeTrue(Files.exists(PROC_STATUS), "RSS is read from /proc, Linux only");
+        Path jar = Paths.get(System.getProperty("startup.jar", "target/JuiceStock-0.0.1-SNAPSHOT-exec.jar"));
+        Path nativeImage = Paths.get(System.getProperty("startup.native", "target/JuiceStock"));
+
+        List<StartupSample> samples = new ArrayList<>();
+        if (Files.exists(jar)) {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            samples.addAll(measure("jvm", List.of(java, "-jar", jar.toString())));
+        }
+        if (Files.isExecutable(nativeImage)) {
+            samples.addAll(measure("native", List.of(nativeImage.toString())));
+        }
+        assumeTrue(!samples.isEmpty(), "Build the jar or native image first: ./mvnw -Pnative -DskipTests package");
+
+        System.out.printf("%-8s %5s %14s %16s %10s%n", "image", "run", "ready ms", "first req ms", "RSS MB");
+        samples.forEach(sample -> System.out.printf("%-8s %5d %14.1f %16.1f %10.1f%n",
+                sample.image, sample.run, sample.readyNanos / 1e6, sample.firstRequestNanos / 1e6, sample.rssKb / 1024.0));
+        samples.forEach(sample -> assertThat(sample.rssKb, greaterThan(0L)));
+    }
+
+    private List<StartupSample> measure(String image, List<String> command) throws Exception {
+        List<StartupSample> samples = new ArrayList<>();
+        for (int run = 1; run <= RUNS; run++) {
+            int port = freePort();
+            List<String> arguments = new ArrayList<>(command);
+            arguments.add("--spring.profiles.active=prod");
+            arguments.add("--server.port=" + port);
+            URI baseUri = URI.create("http://localhost:" + port);
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(arguments)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitReady(baseUri.resolve("/actuator/health"), process);
+                long readyNanos = System.nanoTime() - start;
+                long requestStart = System.nanoTime();
+                send(baseUri.resolve("/api/v1/Juices?limit=1"));
+                long firstRequestNanos = System.nanoTime() - requestStart;
+                samples.add(new StartupSample(image, run, readyNanos, firstRequestNanos, residentSetKb(process.pid())));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        return samples;
+    }
+
+    private void awaitReady(URI healthUri, Process process) throws InterruptedException {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                if (send(healthUri) == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application not ready after " + READY_TIMEOUT);
+    }
+
+    private int send(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        return Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status")).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("\\D", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class StartupSample {
+
+        private final String image;
+        private final int run;
+        private final long readyNanos;
+        private final long firstRequestNanos;
+        private final long rssKb;
+
+        StartupSample(String image, int run, long readyNanos, long firstRequestNanos, long rssKb) {
+            this.image = image;
+            this.run = run;
+            this.readyNanos = readyNanos;
+            this.firstRequestNanos = firstRequestNanos;
+            this.rssKb = rssKb;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package katianne.JuiceStock.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.config.StockLedgerProperties;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.service.StockLedger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Tag("benchmark")
+public class StockLedgerReplayBenchmark {
+
+    private static final int JUICES = 10_000;
+
+    private final long events = Long.getLong("benchmark.ledger.events", 20_000_000L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendThenReplayFromSnapshotAndFromSegments() throws Exception {
+        StockLedgerProperties properties = new StockLedgerProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSnapshotInterval(1_000_000);
+
+        StockLedger stockLedger = new StockLedger(properties, new SimpleMeterRegistry());
+        long start = System.nanoTime();
+        for (long juiceId = 1; juiceId <= JUICES; juiceId++) {
+            stockLedger.append(JuiceChangeType.CREATED, juiceId, 0L, 0);
+        }
+        for (long event = JUICES; event < events; event++) {
+            stockLedger.append(event % 2 == 0 ? JuiceChangeType.INCREMENTED : JuiceChangeType.DECREMENTED,
+                    event % JUICES + 1, event / JUICES, (int) (event % 100));
+        }
+        report("append", events, start);
+
+        start = System.nanoTime();
+        StockLedger fromSnapshot = new StockLedger(properties, new SimpleMeterRegistry());
+        report("snapshot + tail replay", fromSnapshot.getSequence(), start);
+
+        deleteSnapshots();
+        start = System.nanoTime();
+        StockLedger fromSegments = new StockLedger(properties, new SimpleMeterRegistry());
+        report("full segment replay", fromSegments.getSequence(), start);
+
+        assertThat(fromSnapshot.getSequence(), equalTo(events));
+        assertThat(fromSegments.getSequence(), equalTo(events));
+        for (long juiceId = 1; juiceId <= JUICES; juiceId += 997) {
+            assertThat(fromSnapshot.stockOf(juiceId), equalTo(fromSegments.stockOf(juiceId)));
+        }
+    }
+
+    private void deleteSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith("snapshot-")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void report(String name, long replayedEvents, long start) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        System.out.printf("%s: %d events in %d ms (%.1f M events/s)%n",
+                name, replayedEvents, elapsedNanos / 1_000_000, replayedEvents * 1e3 / elapsedNanos);
+    }
+}
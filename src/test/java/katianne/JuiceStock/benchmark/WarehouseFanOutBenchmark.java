@@ -0,0 +1,97 @@
+package katianne.JuiceStock.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.config.WarehouseShardingProperties;
+import katianne.JuiceStock.config.WarehouseShards;
+import katianne.JuiceStock.dto.WarehouseStockTotalDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.service.WarehouseStockService;
+import katianne.JuiceStock.utils.DelayedDataSource;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@Tag("benchmark")
+public class WarehouseFanOutBenchmark {
+
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16};
+    private static final int WAREHOUSES_PER_SHARD = 8;
+    private static final int JUICES = 200;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = 500;
+
+    private final Duration shardLatency = Duration.ofMillis(Integer.getInteger("benchmark.warehouse.latency-millis", 2));
+
+    @Test
+    void totalByNameLatencyAsShardCountGrows() throws Exception {
+        System.out.printf("%-8s %-10s %10s %10s %10s %10s%n", "shards", "fan-out", "p50 ms", "p99 ms", "max ms", "rows");
+        for (int shards : SHARD_COUNTS) {
+            try (WarehouseShards warehouseShards = populatedShards(shards)) {
+                report(warehouseShards, "parallel", shards);
+                report(warehouseShards, "serial", 1);
+            }
+        }
+    }
+
+    private void report(WarehouseShards warehouseShards, String name, int fanOutThreads) {
+        WarehouseShardingProperties properties = new WarehouseShardingProperties();
+        properties.setShardTimeout(Duration.ofSeconds(30));
+        properties.setFanOutThreads(fanOutThreads);
+        WarehouseStockService warehouseStockService = new WarehouseStockService(warehouseShards, properties, null, new SimpleMeterRegistry());
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                warehouseStockService.totalByName("fanout-" + (i % JUICES));
+            }
+            Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(30), 3);
+            WarehouseStockTotalDTO total = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                total = warehouseStockService.totalByName("fanout-" + (i % JUICES));
+                histogram.recordValue(System.nanoTime() - start);
+            }
+            assertThat(total.getUnavailableShards(), empty());
+            assertThat(total.getWarehouses(), equalTo((long) warehouseShards.size() * WAREHOUSES_PER_SHARD));
+            System.out.printf("%-8d %-10s %10.2f %10.2f %10.2f %10d%n",
+                    warehouseShards.size(),
+                    name,
+                    histogram.getValueAtPercentile(50) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getMaxValue() / 1e6,
+                    (long) warehouseShards.size() * WAREHOUSES_PER_SHARD * JUICES);
+        } finally {
+            warehouseStockService.shutdown();
+        }
+    }
+
+    private WarehouseShards populatedShards(int shards) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < shards; shardIndex++) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:fanout-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            dataSources.add(new DelayedDataSource(dataSource, shardLatency));
+        }
+        WarehouseShards warehouseShards = new WarehouseShards(dataSources, Duration.ofSeconds(30));
+        warehouseShards.createSchema();
+        JuiceType[] types = JuiceType.values();
+        for (long warehouseId = 0; warehouseId < (long) shards * WAREHOUSES_PER_SHARD; warehouseId++) {
+            List<Object[]> rows = new ArrayList<>(JUICES);
+            for (int juice = 0; juice < JUICES; juice++) {
+                rows.add(new Object[]{warehouseId, (long) juice, "fanout-" + juice, "Del Valle", types[juice % types.length].name(), 10, 100});
+            }
+            warehouseShards.shardFor(warehouseId).getJdbcTemplate().batchUpdate(
+                    "INSERT INTO warehouse_stock (warehouse_id, juice_id, name, brand, type, quantity, max) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        return warehouseShards;
+    }
+}
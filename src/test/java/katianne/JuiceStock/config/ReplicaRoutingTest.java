@@ -0,0 +1,112 @@
+package katianne.JuiceStock.config;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.repository.JuiceRepository;
+import katianne.JuiceStock.service.JuiceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "juice.datasource.routing.enabled=true",
+        "juice.datasource.routing.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "juice.datasource.routing.replicas[0].username=sa",
+        "juice.datasource.routing.replicas[0].password="
+})
+public class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("CREATE TABLE IF NOT EXISTS juice (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, " +
+                "brand VARCHAR(255) NOT NULL, max INT NOT NULL, quantity INT NOT NULL, type VARCHAR(255) NOT NULL, version BIGINT NOT NULL)");
+        replica.update("DELETE FROM juice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        JuiceRepository.deleteAllInBatch();
+        readYourWritesGuard.clear();
+    }
+
+    @Test
+    void whenReadOnlyQueriesRunThenTheyAreServedByTheReplica() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceService.createJuice(JuiceDTOBuilder.builder().id(null).type(JuiceType.LIFE).build().toJuiceDTO());
+        readYourWritesGuard.clear();
+
+        // when
+        List<JuiceDTO> beforeReplication = JuiceService.listAll(0L, 10);
+        replicate(JuiceDTO);
+        List<JuiceDTO> afterReplication = JuiceService.listAll(0L, 10);
+
+        // then
+        assertThat(beforeReplication, is(empty()));
+        assertThat(afterReplication.size(), is(equalTo(1)));
+        assertThat(afterReplication.get(0).getName(), is(equalTo(JuiceDTO.getName())));
+    }
+
+    @Test
+    void whenJuiceIsIncrementedThenCacheMissesAreLoadedFromThePrimary() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceService.createJuice(JuiceDTOBuilder.builder().id(null).type(JuiceType.LIFE).build().toJuiceDTO());
+        replicate(JuiceDTO);
+        readYourWritesGuard.clear();
+        JuiceService.findByName(JuiceDTO.getName());
+
+        // when
+        JuiceDTO incrementedJuiceDTO = JuiceService.increment(JuiceDTO.getId(), 5);
+        JuiceDTO otherClientJuiceDTO = CompletableFuture.supplyAsync(() -> findByName(JuiceDTO.getName())).get();
+        JuiceDTO foundJuiceDTO = JuiceService.findByName(JuiceDTO.getName());
+        readYourWritesGuard.clear();
+        JuiceDTO cachedJuiceDTO = JuiceService.findByName(JuiceDTO.getName());
+
+        // then
+        assertThat(incrementedJuiceDTO.getQuantity(), is(equalTo(JuiceDTO.getQuantity() + 5)));
+        assertThat(otherClientJuiceDTO.getQuantity(), is(equalTo(JuiceDTO.getQuantity() + 5)));
+        assertThat(foundJuiceDTO.getQuantity(), is(equalTo(JuiceDTO.getQuantity() + 5)));
+        assertThat(cachedJuiceDTO.getQuantity(), is(equalTo(JuiceDTO.getQuantity() + 5)));
+    }
+
+    private JuiceDTO findByName(String name) {
+        try {
+            return JuiceService.findByName(name);
+        } catch (JuiceNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replicate(JuiceDTO JuiceDTO) {
+        replica.update("INSERT INTO juice (id, name, brand, max, quantity, type, version) VALUES (?, ?, ?, ?, ?, ?, 0)",
+                JuiceDTO.getId(), JuiceDTO.getName(), JuiceDTO.getBrand(), JuiceDTO.getMax(), JuiceDTO.getQuantity(), JuiceDTO.getType().name());
+    }
+}
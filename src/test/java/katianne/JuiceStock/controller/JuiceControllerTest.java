@@ -1,33 +1,66 @@
 package katianne.JuiceStock.controller;
 
 import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.config.BinaryJsonConfig;
+import katianne.JuiceStock.dto.JuiceBulkDeleteResultDTO;
 import katianne.JuiceStock.dto.JuiceDTO;
 import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.dto.StockAdjustmentDTO;
+import katianne.JuiceStock.dto.StockAdjustmentRequestDTO;
+import katianne.JuiceStock.dto.StockAdjustmentResultDTO;
+import katianne.JuiceStock.dto.StockSummaryDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.enums.StockAdjustmentMode;
+import katianne.JuiceStock.enums.StockAdjustmentStatus;
+import katianne.JuiceStock.enums.StockGrouping;
 import katianne.JuiceStock.exception.JuiceNotFoundException;
 import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.service.JuiceChangeFeed;
 import katianne.JuiceStock.service.JuiceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static katianne.JuiceStock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.mock.http.server.reactive.MockServerHttpRequest.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,12 +72,20 @@ public classJuiceControllerTest {
     private static final long INVALID_Juice_ID = 2l;
     private static final String JuiceAPI_SUBPATH_INCREMENT_URL = "/increment";
     private static final String JuiceAPI_SUBPATH_DECREMENT_URL = "/decrement";
+    private static final String JUICE_ETAG = "W/\"boot-1-0\"";
+    private static final String CATALOG_ETAG = "W/\"boot-catalog-7\"";
 
     private MockMvc mockMvc;
 
     @Mock
     private JuiceService JuiceService;
 
+    @Mock
+    private JuiceChangeFeed JuiceChangeFeed;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private JuiceController JuiceController;
 
@@ -94,6 +135,7 @@ public classJuiceControllerTest {
 
         //when
         when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        when(JuiceService.eTagOf(JuiceDTO)).thenReturn(JUICE_ETAG);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH + "/" + JuiceDTO.getName())
@@ -101,7 +143,26 @@ public classJuiceControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is(JuiceDTO.getName())))
                 .andExpect(jsonPath("$.brand", is(JuiceDTO.getBrand())))
-                .andExpect(jsonPath("$.type", is(JuiceDTO.getType().toString())));
+                .andExpect(jsonPath("$.type", is(JuiceDTO.getType().toString())))
+                .andExpect(header().string(HttpHeaders.ETAG, JUICE_ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void whenGETIsCalledWithMatchingETagThenNotModifiedStatusIsReturned() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        //when
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        when(JuiceService.eTagOf(JuiceDTO)).thenReturn(JUICE_ETAG);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH + "/" + JuiceDTO.getName())
+                .header(HttpHeaders.IF_NONE_MATCH, JUICE_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, JUICE_ETAG))
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -124,7 +185,8 @@ public classJuiceControllerTest {
         JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
 
         //when
-        when(JuiceService.listAll()).thenReturn(Collections.singletonList(JuiceDTO));
+        when(JuiceService.listAll(0L, 100)).thenReturn(Collections.singletonList(JuiceDTO));
+        when(JuiceService.catalogETag(anyList())).thenReturn(CATALOG_ETAG);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
@@ -132,7 +194,123 @@ public classJuiceControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", is(JuiceDTO.getName())))
                 .andExpect(jsonPath("$[0].brand", is(JuiceDTO.getBrand())))
-                .andExpect(jsonPath("$[0].type", is(JuiceDTO.getType().toString())));
+                .andExpect(jsonPath("$[0].type", is(JuiceDTO.getType().toString())))
+                .andExpect(header().string(JuiceController.CONTINUATION_TOKEN_HEADER, String.valueOf(JuiceDTO.getId())));
+    }
+
+    @Test
+    void whenGETListIsCalledWithMatchingCatalogETagThenNotModifiedIsReturned() throws Exception {
+        //when
+        when(JuiceService.listAll(0L, 100)).thenReturn(Collections.emptyList());
+        when(JuiceService.catalogETag(anyList())).thenReturn(CATALOG_ETAG);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, CATALOG_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void whenGETListIsCalledAfterAnIdThenNextPageIsReturned() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(2L).build().toJuiceDTO();
+
+        //when
+        when(JuiceService.listAll(VALID_Juice_ID, 1)).thenReturn(Collections.singletonList(JuiceDTO));
+        when(JuiceService.catalogETag(anyList())).thenReturn(CATALOG_ETAG);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
+                .param("after", String.valueOf(VALID_Juice_ID))
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(header().string(JuiceController.CONTINUATION_TOKEN_HEADER, "2"));
+    }
+
+    @Test
+    void whenGETListIsCalledAcceptingSmileThenJuicesAreEncodedAsSmile() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        SmileMapper smileMapper = new SmileMapper();
+        MockMvc binaryMockMvc = binaryMockMvc();
+
+        //when
+        when(JuiceService.listAll(0L, 100)).thenReturn(Collections.singletonList(JuiceDTO));
+        when(JuiceService.catalogETag(anyList())).thenReturn(CATALOG_ETAG);
+
+        // then
+        byte[] body = binaryMockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
+                .accept(BinaryJsonConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryJsonConfig.APPLICATION_SMILE_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        JuiceDTO[] decoded = smileMapper.readValue(body, JuiceDTO[].class);
+        assertThat(decoded[0], is(JuiceDTO));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithCborBodyThenAJuiceIsCreated() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        CBORMapper cborMapper = new CBORMapper();
+        MockMvc binaryMockMvc = binaryMockMvc();
+
+        // when
+        when(JuiceService.createJuice(JuiceDTO)).thenReturn(JuiceDTO);
+
+        // then
+        byte[] body = binaryMockMvc.perform(post(Juice_API_URL_PATH)
+                .contentType(BinaryJsonConfig.APPLICATION_CBOR_VALUE)
+                .accept(BinaryJsonConfig.APPLICATION_CBOR_VALUE)
+                .content(cborMapper.writeValueAsBytes(JuiceDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertThat(cborMapper.readValue(body, JuiceDTO.class), is(JuiceDTO));
+    }
+
+    @Test
+    void whenGETListIsCalledAcceptingNdjsonThenJuicesAreStreamedOnePerLine() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        //when
+        doAnswer(invocation -> {
+            Consumer<JuiceDTO> consumer = invocation.getArgument(0);
+            consumer.accept(JuiceDTO);
+            consumer.accept(JuiceDTO);
+            return null;
+        }).when(JuiceService).exportAll(any());
+
+        // then
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
+                .accept(JuiceController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = asJsonString(JuiceDTO) + "\n";
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().string(line + line));
+    }
+
+    @Test
+    void whenGETListIsCalledAcceptingEventStreamThenChangeFeedIsSubscribedFromLastEventId() throws Exception {
+        //when
+        when(JuiceChangeFeed.subscribe("41")).thenReturn(new SseEmitter());
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header(JuiceController.LAST_EVENT_ID_HEADER, "41"))
+                .andExpect(request().asyncStarted());
+        verify(JuiceChangeFeed).subscribe("41");
     }
 
     @Test
@@ -141,7 +319,8 @@ public classJuiceControllerTest {
         JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
 
         //when
-        when(JuiceService.listAll()).thenReturn(Collections.singletonList(JuiceDTO));
+        when(JuiceService.listAll(0L, 100)).thenReturn(Collections.singletonList(JuiceDTO));
+        when(JuiceService.catalogETag(anyList())).thenReturn(CATALOG_ETAG);
 
         // then
         mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH)
@@ -149,6 +328,30 @@ public classJuiceControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void whenGETStockSummaryIsCalledThenTotalsPerGroupAreReturned() throws Exception {
+        // given
+        StockSummaryDTO summaryDTO = StockSummaryDTO.builder()
+                .type(JuiceType.LIFE)
+                .quantity(20)
+                .capacity(100)
+                .fillRatio(0.2)
+                .skus(2)
+                .build();
+
+        // when
+        when(JuiceService.summarizeStock(StockGrouping.TYPE)).thenReturn(Collections.singletonList(summaryDTO));
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.get(Juice_API_URL_PATH + "/stock/summary")
+                .param("groupBy", "TYPE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", is(JuiceType.LIFE.toString())))
+                .andExpect(jsonPath("$[0].quantity", is(20)))
+                .andExpect(jsonPath("$[0].skus", is(2)))
+                .andExpect(jsonPath("$[0].brand").doesNotExist());
+    }
+
     @Test
     void whenDELETEIsCalledWithValidIdThenNoContentStatusIsReturned() throws Exception {
         // given
@@ -174,6 +377,53 @@ public classJuiceControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenDELETEIsCalledWithIdListThenTheDeletedIdsAreReturned() throws Exception {
+        // given
+        JuiceBulkDeleteResultDTO result = JuiceBulkDeleteResultDTO.builder()
+                .deleted(1)
+                .ids(List.of(VALID_Juice_ID))
+                .build();
+
+        // when
+        when(JuiceService.deleteAllById(List.of(VALID_Juice_ID, INVALID_Juice_ID))).thenReturn(result);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(Juice_API_URL_PATH)
+                .param("id", String.valueOf(VALID_Juice_ID), String.valueOf(INVALID_Juice_ID)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(1)))
+                .andExpect(jsonPath("$.ids[0]", is((int) VALID_Juice_ID)));
+    }
+
+    @Test
+    void whenDELETEIsCalledWithTypeAndBrandThenTheMatchingJuicesAreDeleted() throws Exception {
+        // given
+        JuiceBulkDeleteResultDTO result = JuiceBulkDeleteResultDTO.builder()
+                .deleted(2)
+                .ids(List.of(VALID_Juice_ID, INVALID_Juice_ID))
+                .build();
+
+        // when
+        when(JuiceService.deleteAllByType(JuiceType.LIFE, "Del Valle")).thenReturn(result);
+
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(Juice_API_URL_PATH)
+                .param("type", JuiceType.LIFE.name())
+                .param("brand", "Del Valle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)));
+    }
+
+    @Test
+    void whenDELETEIsCalledWithoutCriteriaThenNothingIsDeleted() throws Exception {
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.delete(Juice_API_URL_PATH))
+                .andExpect(status().is4xxClientError());
+        verify(JuiceService, never()).deleteAllByType(any(), any());
+        verify(JuiceService, never()).deleteAllById(any());
+    }
+
     @Test
     void whenPATCHIsCalledToIncrementDiscountThenOKstatusIsReturned() throws Exception {
         QuantityDTO quantityDTO = QuantityDTO.builder()
@@ -194,6 +444,47 @@ public classJuiceControllerTest {
                 .andExpect(jsonPath("$.quantity", is(JuiceDTO.getQuantity())));
     }
 
+    @Test
+    void whenPATCHIsCalledToIncrementAllThenOKstatusIsReturned() throws Exception {
+        StockAdjustmentRequestDTO stockAdjustmentRequestDTO = StockAdjustmentRequestDTO.builder()
+                .adjustments(Collections.singletonList(new StockAdjustmentDTO(VALID_Juice_ID, 10)))
+                .build();
+        StockAdjustmentResultDTO result = StockAdjustmentResultDTO.builder()
+                .id(VALID_Juice_ID)
+                .quantity(10)
+                .status(StockAdjustmentStatus.INCREMENTED)
+                .build();
+
+        when(JuiceService.incrementAll(stockAdjustmentRequestDTO.getAdjustments(), StockAdjustmentMode.PARTIAL))
+                .thenReturn(Collections.singletonList(result));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(Juice_API_URL_PATH + JuiceAPI_SUBPATH_INCREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(stockAdjustmentRequestDTO))).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is((int) VALID_Juice_ID)))
+                .andExpect(jsonPath("$[0].status", is(StockAdjustmentStatus.INCREMENTED.toString())));
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementAllAndNothingIsAppliedThenBadRequestStatusIsReturned() throws Exception {
+        StockAdjustmentRequestDTO stockAdjustmentRequestDTO = StockAdjustmentRequestDTO.builder()
+                .adjustments(Collections.singletonList(new StockAdjustmentDTO(VALID_Juice_ID, 10)))
+                .mode(StockAdjustmentMode.ALL_OR_NOTHING)
+                .build();
+        StockAdjustmentResultDTO result = StockAdjustmentResultDTO.builder()
+                .id(VALID_Juice_ID)
+                .quantity(10)
+                .status(StockAdjustmentStatus.NOT_APPLIED)
+                .build();
+
+        when(JuiceService.incrementAll(stockAdjustmentRequestDTO.getAdjustments(), StockAdjustmentMode.ALL_OR_NOTHING))
+                .thenReturn(Collections.singletonList(result));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch(Juice_API_URL_PATH + JuiceAPI_SUBPATH_INCREMENT_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(stockAdjustmentRequestDTO))).andExpect(status().isBadRequest());
+    }
+
 //    @Test
 //    void whenPATCHIsCalledToIncrementGreatherThanMaxThenBadRequestStatusIsReturned() throws Exception {
 //        QuantityDTO quantityDTO = QuantityDTO.builder()
@@ -271,4 +562,12 @@ public classJuiceControllerTest {
 //                .content(asJsonString(quantityDTO)))
 //                .andExpect(status().isNotFound());
 //    }
+
+    private MockMvc binaryMockMvc() {
+        return MockMvcBuilders.standaloneSetup(JuiceController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(),
+                        new MappingJackson2SmileHttpMessageConverter(),
+                        new MappingJackson2CborHttpMessageConverter())
+                .build();
+    }
 }
@@ -0,0 +1,210 @@
+package katianne.JuiceStock.loadtest;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.service.JuiceChangeFeed;
+import katianne.JuiceStock.service.JuiceService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.max-connections=20000")
+public class JuiceChangeFeedLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    private static final Pattern QUANTITY = Pattern.compile("\"quantity\":(\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceChangeFeed JuiceChangeFeed;
+
+    @Value("${loadtest.sse.subscribers:2000}")
+    private int subscriberCount;
+
+    @Value("${loadtest.sse.changes:1000}")
+    private int changes;
+
+    @Value("${loadtest.sse.rate:200}")
+    private int changesPerSecond;
+
+    @Value("${loadtest.output:target/loadtest}")
+    private String outputDirectory;
+
+    @Test
+    void fanOutIncrementsToThousandsOfSubscribers() throws Exception {
+        JuiceDTO JuiceDTO = JuiceService.createJuice(JuiceDTOBuilder.builder()
+                .id(null)
+                .name("sse-loadtest")
+                .type(JuiceType.LIFE)
+                .max(changes)
+                .quantity(0)
+                .build()
+                .toJuiceDTO());
+        AtomicLongArray sentNanos = new AtomicLongArray(changes + 1);
+        Recorder deliveryLatency = new Recorder(HIGHEST_TRACKABLE_LATENCY, 3);
+        Recorder writeLatency = new Recorder(HIGHEST_TRACKABLE_LATENCY, 3);
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+        HttpClient httpClient = HttpClient.newBuilder().executor(clientExecutor).build();
+        HttpRequest subscribeRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/Juices"))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        List<EventStreamSubscriber> subscribers = new ArrayList<>(subscriberCount);
+        try {
+            for (int i = 0; i < subscriberCount; i++) {
+                EventStreamSubscriber subscriber = new EventStreamSubscriber(sentNanos, deliveryLatency);
+                subscribers.add(subscriber);
+                httpClient.sendAsync(subscribeRequest, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber));
+            }
+            awaitUntil(() -> JuiceChangeFeed.subscriberCount() >= subscriberCount, Duration.ofSeconds(60));
+
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / changesPerSecond;
+            long start = System.nanoTime();
+            for (int quantity = 1; quantity <= changes; quantity++) {
+                long intendedStart = start + (quantity - 1) * intervalNanos;
+                long delay = intendedStart - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                sentNanos.set(quantity, System.nanoTime());
+                JuiceService.increment(JuiceDTO.getId(), 1);
+                writeLatency.recordValue(Math.min(System.nanoTime() - sentNanos.get(quantity), HIGHEST_TRACKABLE_LATENCY));
+            }
+            awaitUntil(() -> subscribers.stream().allMatch(subscriber -> subscriber.lastQuantity == changes), Duration.ofSeconds(60));
+
+            Histogram delivery = deliveryLatency.getIntervalHistogram();
+            Histogram writes = writeLatency.getIntervalHistogram();
+            long delivered = subscribers.stream().mapToLong(subscriber -> subscriber.delivered).sum();
+            long resets = subscribers.stream().mapToLong(subscriber -> subscriber.resets).sum();
+            print(System.out, "delivery", delivery);
+            print(System.out, "write", writes);
+            System.out.printf("subscribers=%d changes=%d delivered=%d coalesced=%d resets=%d%n",
+                    subscriberCount, changes, delivered, (long) subscriberCount * changes - delivered, resets);
+            Path output = Files.createDirectories(Paths.get(outputDirectory));
+            try (PrintStream hgrm = new PrintStream(output.resolve("sse-delivery.hgrm").toFile())) {
+                delivery.outputPercentileDistribution(hgrm, 1_000_000.0);
+            }
+            assertThat(subscribers.stream().allMatch(subscriber -> subscriber.lastQuantity == changes), is(equalTo(true)));
+        } finally {
+            subscribers.forEach(EventStreamSubscriber::cancel);
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static void print(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-10s count=%d p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMaxValue() / 1e6);
+    }
+
+    private static void awaitUntil(java.util.function.BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Condition not met within " + timeout);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static class EventStreamSubscriber implements Flow.Subscriber<String> {
+
+        private final AtomicLongArray sentNanos;
+        private final Recorder deliveryLatency;
+        private volatile Flow.Subscription subscription;
+        private volatile int lastQuantity;
+        private long delivered;
+        private long resets;
+        private String event;
+
+        EventStreamSubscriber(AtomicLongArray sentNanos, Recorder deliveryLatency) {
+            this.sentNanos = sentNanos;
+            this.deliveryLatency = deliveryLatency;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).trim();
+                if (JuiceChangeFeed.RESET_EVENT.equals(event)) {
+                    resets++;
+                }
+            } else if (line.startsWith("data:") && JuiceChangeFeed.JUICE_EVENT.equals(event)) {
+                Matcher quantity = QUANTITY.matcher(line);
+                if (quantity.find()) {
+                    int receivedQuantity = Integer.parseInt(quantity.group(1));
+                    long sent = receivedQuantity < sentNanos.length() ? sentNanos.get(receivedQuantity) : 0;
+                    if (sent > 0) {
+                        deliveryLatency.recordValue(Math.min(Math.max(0, System.nanoTime() - sent), HIGHEST_TRACKABLE_LATENCY));
+                    }
+                    delivered++;
+                    lastQuantity = receivedQuantity;
+                }
+            } else if (line.isEmpty()) {
+                event = null;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package katianne.JuiceStock.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class JuiceLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.collection:postman/juice API.postman_collection.json}")
+    private String collectionPath;
+
+    @Value("${loadtest.rate:200}")
+    private int requestsPerSecond;
+
+    @Value("${loadtest.duration:30s}")
+    private Duration duration;
+
+    @Value("${loadtest.seed:100}")
+    private int seedJuices;
+
+    @Value("${loadtest.mix:create=10,find=50,list=20,increment=15,delete=5}")
+    private String mix;
+
+    @Value("${loadtest.output:target/loadtest}")
+    private String outputDirectory;
+
+    @Test
+    void replayPostmanCollectionAtConstantRate() throws Exception {
+        PostmanCollection collection = PostmanCollection.read(Paths.get(collectionPath), objectMapper);
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(URI.create("http://localhost:" + port), collection, parseMix(mix), objectMapper);
+        try {
+            generator.seed(seedJuices);
+            OpenLoopLoadGenerator.LoadTestReport report = generator.run(requestsPerSecond, duration);
+
+            report.print(System.out);
+            Path output = Files.createDirectories(Paths.get(outputDirectory));
+            for (Map.Entry<JuiceOperation, Histogram> entry : report.getHistograms().entrySet()) {
+                try (PrintStream hgrm = new PrintStream(output.resolve(entry.getKey().name().toLowerCase() + ".hgrm").toFile())) {
+                    entry.getValue().outputPercentileDistribution(hgrm, 1_000_000.0);
+                }
+            }
+            assertThat(report.totalRequests(), greaterThan(0L));
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    private static Map<JuiceOperation, Integer> parseMix(String mix) {
+        Map<JuiceOperation, Integer> weights = new EnumMap<>(JuiceOperation.class);
+        for (String weight : mix.split(",")) {
+            String[] operationAndWeight = weight.trim().split("=");
+            weights.put(JuiceOperation.valueOf(operationAndWeight[0].trim().toUpperCase()), Integer.parseInt(operationAndWeight[1].trim()));
+        }
+        return weights;
+    }
+}
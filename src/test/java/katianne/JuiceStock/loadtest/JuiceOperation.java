@@ -0,0 +1,18 @@
+package katianne.JuiceStock.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum JuiceOperation {
+
+    CREATE("POST", "/api/v1/Juices"),
+    FIND("GET", "/api/v1/Juices/{name}"),
+    LIST("GET", "/api/v1/Juices"),
+    INCREMENT("PATCH", "/api/v1/Juices/{id}/increment"),
+    DELETE("DELETE", "/api/v1/Juices/{id}");
+
+    private final String method;
+    private final String endpoint;
+}
@@ -0,0 +1,247 @@
+package katianne.JuiceStock.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import katianne.JuiceStock.enums.JuiceType;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class OpenLoopLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private final URI baseUri;
+    private final PostmanCollection collection;
+    private final Map<JuiceOperation, Integer> mix;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService responseExecutor = Executors.newFixedThreadPool(4);
+    private final HttpClient httpClient;
+    private final ConcurrentLinkedDeque<RegisteredJuice> registeredJuices = new ConcurrentLinkedDeque<>();
+    private final AtomicLong nameSequence = new AtomicLong();
+    private final Map<JuiceOperation, Recorder> recorders = new EnumMap<>(JuiceOperation.class);
+    private final Map<JuiceOperation, LongAdder> errors = new EnumMap<>(JuiceOperation.class);
+
+    public OpenLoopLoadGenerator(URI baseUri, PostmanCollection collection, Map<JuiceOperation, Integer> mix, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.collection = collection;
+        this.objectMapper = objectMapper;
+        this.mix = new EnumMap<>(JuiceOperation.class);
+        mix.forEach((operation, weight) -> {
+            if (collection.supports(operation) && weight > 0) {
+                this.mix.put(operation, weight);
+                recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_LATENCY, 3));
+                errors.put(operation, new LongAdder());
+            }
+        });
+        recorders.putIfAbsent(JuiceOperation.CREATE, new Recorder(HIGHEST_TRACKABLE_LATENCY, 3));
+        errors.putIfAbsent(JuiceOperation.CREATE, new LongAdder());
+        this.httpClient = HttpClient.newBuilder()
+                .executor(responseExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public void seed(int juices) {
+        for (int i = 0; i < juices; i++) {
+            send(JuiceOperation.CREATE, null).join();
+        }
+    }
+
+    public LoadTestReport run(int requestsPerSecond, Duration duration) {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+
+        long secondNanos = TimeUnit.SECONDS.toNanos(1);
+        long intervalNanos = secondNanos / requestsPerSecond;
+        long totalRequests = (duration.toNanos() * requestsPerSecond + secondNanos - 1) / secondNanos;
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long i = 0; i < totalRequests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            JuiceOperation plannedOperation = nextOperation();
+            RegisteredJuice target = targetOf(plannedOperation);
+            JuiceOperation operation = target == null && requiresTarget(plannedOperation) ? JuiceOperation.CREATE : plannedOperation;
+            inFlight.add(send(operation, target).handle((response, failure) -> {
+                recorders.get(operation).recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_LATENCY));
+                if (failure != null || response.statusCode() >= 500) {
+                    errors.get(operation).increment();
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<JuiceOperation, Histogram> histograms = new EnumMap<>(JuiceOperation.class);
+        Map<JuiceOperation, Long> errorCounts = new EnumMap<>(JuiceOperation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new LoadTestReport(histograms, errorCounts, elapsedNanos);
+    }
+
+    public void shutdown() {
+        responseExecutor.shutdown();
+    }
+
+    private JuiceOperation nextOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<JuiceOperation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private RegisteredJuice targetOf(JuiceOperation operation) {
+        if (!requiresTarget(operation)) {
+            return null;
+        }
+        return operation == JuiceOperation.DELETE ? registeredJuices.pollFirst() : registeredJuices.peekLast();
+    }
+
+    private static boolean requiresTarget(JuiceOperation operation) {
+        return operation != JuiceOperation.CREATE && operation != JuiceOperation.LIST;
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(JuiceOperation operation, RegisteredJuice target) {
+        HttpRequest request = buildRequest(operation, target);
+        CompletableFuture<HttpResponse<String>> response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        if (operation == JuiceOperation.CREATE) {
+            return response.thenApply(this::register);
+        }
+        return response;
+    }
+
+    private HttpRequest buildRequest(JuiceOperation operation, RegisteredJuice target) {
+        HttpRequest.Builder request = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        switch (operation) {
+            case CREATE:
+                ObjectNode JuiceBody = (ObjectNode) collection.bodyOf(operation);
+                JuiceBody.put("name", "loadtest-" + nameSequence.incrementAndGet());
+                if (!isValidType(JuiceBody.path("type").asText())) {
+                    JuiceType[] types = JuiceType.values();
+                    JuiceBody.put("type", types[ThreadLocalRandom.current().nextInt(types.length)].name());
+                }
+                return request.uri(baseUri.resolve(operation.getEndpoint()))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(JuiceBody.toString()))
+                        .build();
+            case FIND:
+                return request.uri(baseUri.resolve("/api/v1/Juices/" + URLEncoder.encode(target.name, StandardCharsets.UTF_8).replace("+", "%20")))
+                        .GET()
+                        .build();
+            case LIST:
+                return request.uri(baseUri.resolve(operation.getEndpoint())).GET().build();
+            case INCREMENT:
+                JsonNode quantityBody = collection.bodyOf(operation);
+                return request.uri(baseUri.resolve("/api/v1/Juices/" + target.id + "/increment"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(quantityBody.toString()))
+                        .build();
+            case DELETE:
+                return request.uri(baseUri.resolve("/api/v1/Juices/" + target.id)).DELETE().build();
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+    }
+
+    private HttpResponse<String> register(HttpResponse<String> response) {
+        if (response.statusCode() == 201) {
+            try {
+                JsonNode created = objectMapper.readTree(response.body());
+                registeredJuices.addLast(new RegisteredJuice(created.path("id").asLong(), created.path("name").asText()));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return response;
+    }
+
+    private static boolean isValidType(String type) {
+        for (JuiceType JuiceType : JuiceType.values()) {
+            if (JuiceType.name().equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class RegisteredJuice {
+
+        private final long id;
+        private final String name;
+
+        RegisteredJuice(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    public static class LoadTestReport {
+
+        private final Map<JuiceOperation, Histogram> histograms;
+        private final Map<JuiceOperation, Long> errors;
+        private final long elapsedNanos;
+
+        LoadTestReport(Map<JuiceOperation, Histogram> histograms, Map<JuiceOperation, Long> errors, long elapsedNanos) {
+            this.histograms = histograms;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Map<JuiceOperation, Histogram> getHistograms() {
+            return histograms;
+        }
+
+        public long totalRequests() {
+            return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        public void print(PrintStream out) {
+            double elapsedSeconds = elapsedNanos / 1e9;
+            out.printf("%-10s %10s %10s %10s %10s %10s %10s %10s %8s%n",
+                    "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            histograms.forEach((operation, histogram) -> out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                    operation,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    histogram.getValueAtPercentile(50) / 1e6,
+                    histogram.getValueAtPercentile(90) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getValueAtPercentile(99.9) / 1e6,
+                    histogram.getMaxValue() / 1e6,
+                    errors.get(operation)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package katianne.JuiceStock.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+public class PostmanCollection {
+
+    private static final Pattern BY_NAME_OR_ID = Pattern.compile("/api/v1/Juices/[^/]+");
+    private static final Pattern INCREMENT = Pattern.compile("/api/v1/Juices/[^/]+/increment");
+
+    private final Map<JuiceOperation, JsonNode> bodies = new EnumMap<>(JuiceOperation.class);
+
+    public static PostmanCollection read(Path path, ObjectMapper objectMapper) throws IOException {
+        PostmanCollection collection = new PostmanCollection();
+        for (JsonNode item : objectMapper.readTree(path.toFile()).path("item")) {
+            JsonNode request = item.path("request");
+            String method = request.path("method").asText();
+            String url = request.path("url").isObject() ? request.path("url").path("raw").asText() : request.path("url").asText();
+            String path = URI.create(url.replace(" ", "%20")).getRawPath();
+            String raw = request.path("body").path("raw").asText(null);
+            JsonNode body = raw == null ? objectMapper.createObjectNode() : objectMapper.readTree(raw);
+            operationOf(method, path).ifPresent(operation -> collection.bodies.put(operation, body));
+        }
+        return collection;
+    }
+
+    public boolean supports(JuiceOperation operation) {
+        return bodies.containsKey(operation);
+    }
+
+    public JsonNode bodyOf(JuiceOperation operation) {
+        return bodies.get(operation).deepCopy();
+    }
+
+    private static Optional<JuiceOperation> operationOf(String method, String path) {
+        if (path.equals(JuiceOperation.LIST.getEndpoint())) {
+            return method.equals("POST") ? Optional.of(JuiceOperation.CREATE)
+                    : method.equals("GET") ? Optional.of(JuiceOperation.LIST) : Optional.empty();
+        }
+        if (INCREMENT.matcher(path).matches() && method.equals("PATCH")) {
+            return Optional.of(JuiceOperation.INCREMENT);
+        }
+        if (BY_NAME_OR_ID.matcher(path).matches()) {
+            return method.equals("GET") ? Optional.of(JuiceOperation.FIND)
+                    : method.equals("DELETE") ? Optional.of(JuiceOperation.DELETE) : Optional.empty();
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,161 @@
+package katianne.JuiceStock.reactive.handler;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.QuantityDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.reactive.service.ReactiveJuiceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveJuiceHandlerTest {
+
+    private static final String JUICE_API_URL_PATH = "/api/v1/Juices";
+    private static final long VALID_JUICE_ID = 1L;
+    private static final long INVALID_JUICE_ID = 2L;
+
+    private WebTestClient webTestClient;
+
+    @Mock
+    private ReactiveJuiceService JuiceService;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveJuiceHandler JuiceHandler = new ReactiveJuiceHandler(JuiceService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        webTestClient = WebTestClient.bindToRouterFunction(new ReactiveJuiceRouter().juiceRoutes(JuiceHandler)).build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenAJuiceIsCreated() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+
+        // when
+        when(JuiceService.createJuice(JuiceDTO)).thenReturn(Mono.just(JuiceDTO));
+
+        // then
+        webTestClient.post().uri(JUICE_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(JuiceDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(JuiceDTO.getName())
+                .jsonPath("$.brand").isEqualTo(JuiceDTO.getBrand())
+                .jsonPath("$.type").isEqualTo(JuiceDTO.getType().toString());
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutRequiredFieldThenBadRequestIsReturned() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO.setBrand(null);
+
+        // then
+        webTestClient.post().uri(JUICE_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(JuiceDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(JuiceService, never()).createJuice(any(JuiceDTO.class));
+    }
+
+    @Test
+    void whenGETIsCalledWithNotRegisteredNameThenNotFoundStatusIsReturned() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceService.findByName(JuiceDTO.getName()))
+                .thenReturn(Mono.error(new JuiceNotFoundException(JuiceDTO.getName())));
+
+        // then
+        webTestClient.get().uri(JUICE_API_URL_PATH + "/" + JuiceDTO.getName())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenGETListIsCalledThenPageAndContinuationTokenAreReturned() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+
+        // when
+        when(JuiceService.listAll(0L, 100)).thenReturn(Flux.just(JuiceDTO));
+
+        // then
+        webTestClient.get().uri(JUICE_API_URL_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ReactiveJuiceHandler.CONTINUATION_TOKEN_HEADER, String.valueOf(JuiceDTO.getId()))
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo(JuiceDTO.getName());
+    }
+
+    @Test
+    void whenGETIsCalledAcceptingNdjsonThenJuicesAreStreamedOnePerLine() {
+        // given
+        JuiceDTO first = JuiceDTOBuilder.builder().id(1L).name("first").type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO second = JuiceDTOBuilder.builder().id(2L).name("second").type(JuiceType.LIFE).build().toJuiceDTO();
+
+        // when
+        when(JuiceService.exportAll()).thenReturn(Flux.just(first, second));
+
+        // then
+        webTestClient.get().uri(JUICE_API_URL_PATH)
+                .accept(ReactiveJuiceHandler.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(ReactiveJuiceHandler.APPLICATION_NDJSON)
+                .expectBodyList(JuiceDTO.class)
+                .contains(first, second);
+    }
+
+    @Test
+    void whenDELETEIsCalledWithInvalidIdThenNotFoundStatusIsReturned() {
+        // when
+        when(JuiceService.deleteById(INVALID_JUICE_ID)).thenReturn(Mono.error(new JuiceNotFoundException(INVALID_JUICE_ID)));
+
+        // then
+        webTestClient.delete().uri(JUICE_API_URL_PATH + "/" + INVALID_JUICE_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenPATCHIsCalledToIncrementAboveMaxThenBadRequestIsReturned() {
+        // given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(30).build();
+
+        // when
+        when(JuiceService.increment(VALID_JUICE_ID, quantityDTO.getQuantity()))
+                .thenReturn(Mono.error(new JuiceStockExceededException(VALID_JUICE_ID, quantityDTO.getQuantity())));
+
+        // then
+        webTestClient.patch().uri(JUICE_API_URL_PATH + "/" + VALID_JUICE_ID + "/increment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(quantityDTO)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
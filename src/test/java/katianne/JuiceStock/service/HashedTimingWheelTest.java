@@ -0,0 +1,69 @@
+package katianne.JuiceStock.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class HashedTimingWheelTest {
+
+    private static final long TICK_NANOS = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void whenTheWheelAdvancesThenOnlyDueTimeoutsExpire() {
+        // given
+        List<String> expired = new ArrayList<>();
+        HashedTimingWheel<String> timingWheel = new HashedTimingWheel<>(0, Duration.ofMillis(100), Duration.ofSeconds(1), expired::add);
+        timingWheel.schedule("short", 2 * TICK_NANOS);
+        timingWheel.schedule("long", 9 * TICK_NANOS);
+
+        // when
+        int expiredAfterThreeTicks = timingWheel.advance(3 * TICK_NANOS);
+
+        // then
+        assertThat(expiredAfterThreeTicks, is(equalTo(1)));
+        assertThat(expired, contains("short"));
+    }
+
+    @Test
+    void whenATimeoutIsCancelledThenItNeverExpires() {
+        // given
+        List<String> expired = new ArrayList<>();
+        HashedTimingWheel<String> timingWheel = new HashedTimingWheel<>(0, Duration.ofMillis(100), Duration.ofSeconds(1), expired::add);
+        HashedTimingWheel.Timeout<String> timeout = timingWheel.schedule("released", 2 * TICK_NANOS);
+
+        // when
+        boolean cancelled = timeout.cancel();
+        timingWheel.advance(10 * TICK_NANOS);
+
+        // then
+        assertThat(cancelled, is(true));
+        assertThat(timeout.cancel(), is(false));
+        assertThat(expired, is(empty()));
+    }
+
+    @Test
+    void whenADeadlineIsBeyondOneRotationThenItExpiresOnItsOwnRound() {
+        // given
+        List<String> expired = new ArrayList<>();
+        HashedTimingWheel<String> timingWheel = new HashedTimingWheel<>(0, Duration.ofMillis(100), Duration.ofMillis(300), expired::add);
+        int wheelSize = timingWheel.wheelSize();
+        timingWheel.schedule("next round", (wheelSize + 1) * TICK_NANOS);
+
+        // when
+        timingWheel.advance(wheelSize * TICK_NANOS);
+        List<String> expiredAfterFirstRotation = new ArrayList<>(expired);
+        timingWheel.advance((wheelSize + 1) * TICK_NANOS);
+
+        // then
+        assertThat(expiredAfterFirstRotation, is(empty()));
+        assertThat(expired, contains("next round"));
+    }
+}
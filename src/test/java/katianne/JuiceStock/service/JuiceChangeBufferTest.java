@@ -0,0 +1,83 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.dto.JuiceChangeDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class JuiceChangeBufferTest {
+
+    @Test
+    void whenTheSameJuiceChangesTwiceThenChangesAreCoalescedIntoTheLatest() {
+        // given
+        JuiceChangeBuffer buffer = new JuiceChangeBuffer(10, 0);
+
+        // when
+        buffer.offer(change(1, 1L, JuiceChangeType.INCREMENTED, 15, 5));
+        buffer.offer(change(2, 2L, JuiceChangeType.INCREMENTED, 20, 10));
+        buffer.offer(change(3, 1L, JuiceChangeType.INCREMENTED, 18, 3));
+        JuiceChangeBuffer.Batch batch = buffer.drain();
+
+        // then
+        assertThat(sequences(batch), contains(2L, 3L));
+        JuiceChangeDTO coalesced = batch.getChanges().get(1).getData();
+        assertThat(coalesced.getQuantity(), is(equalTo(18)));
+        assertThat(coalesced.getDelta(), is(equalTo(8)));
+        assertThat(batch.getDropped(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenBufferIsFullThenOldestChangeIsDroppedAndCounted() {
+        // given
+        JuiceChangeBuffer buffer = new JuiceChangeBuffer(2, 0);
+
+        // when
+        buffer.offer(change(1, 1L, JuiceChangeType.CREATED, 10, 10));
+        buffer.offer(change(2, 2L, JuiceChangeType.CREATED, 10, 10));
+        buffer.offer(change(3, 3L, JuiceChangeType.CREATED, 10, 10));
+        JuiceChangeBuffer.Batch batch = buffer.drain();
+
+        // then
+        assertThat(sequences(batch), contains(2L, 3L));
+        assertThat(batch.getDropped(), is(equalTo(1L)));
+    }
+
+    @Test
+    void whenAChangeWasAlreadyOfferedThenItIsNotBufferedAgain() {
+        // given
+        JuiceChangeBuffer buffer = new JuiceChangeBuffer(10, 5);
+
+        // when
+        boolean replayed = buffer.offer(change(5, 1L, JuiceChangeType.INCREMENTED, 15, 5));
+        boolean next = buffer.offer(change(6, 1L, JuiceChangeType.INCREMENTED, 20, 5));
+
+        // then
+        assertThat(replayed, is(false));
+        assertThat(next, is(true));
+        assertThat(sequences(buffer.drain()), contains(6L));
+    }
+
+    private static JuiceChangeBuffer.Change change(long sequence, Long id, JuiceChangeType changeType, int quantity, int delta) {
+        return new JuiceChangeBuffer.Change(sequence, JuiceChangeDTO.builder()
+                .id(id)
+                .name("juice-" + id)
+                .quantity(quantity)
+                .max(50)
+                .change(changeType)
+                .delta(delta)
+                .build());
+    }
+
+    private static List<Long> sequences(JuiceChangeBuffer.Batch batch) {
+        return batch.getChanges().stream()
+                .map(JuiceChangeBuffer.Change::getSequence)
+                .collect(Collectors.toList());
+    }
+}
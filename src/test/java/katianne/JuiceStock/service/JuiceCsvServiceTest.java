@@ -0,0 +1,201 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.config.JuiceCsvProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.JuiceImportErrorDTO;
+import katianne.JuiceStock.dto.JuiceImportResultDTO;
+import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.JuiceCsvFormatException;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JuiceCsvServiceTest {
+
+    private static final String HEADER = "name,brand,max,quantity,type\n";
+
+    @Mock
+    private JuiceService JuiceService;
+
+    @Mock
+    private JuiceRepository JuiceRepository;
+
+    @Mock
+    private JuiceNameFilter JuiceNameFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JuiceCsvProperties properties;
+
+    private JuiceCsvService JuiceCsvService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JuiceCsvProperties();
+        JuiceCsvService = new JuiceCsvService(JuiceService, JuiceRepository, JuiceNameFilter, properties,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, transactionManager);
+    }
+
+    @Test
+    void whenCsvIsImportedThenNewJuicesAreInsertedAndRegisteredOnesUpdated() throws Exception {
+        // given
+        Juice changed = new Juice(1L, "Maguary", "Del Valle", 50, 10, JuiceType.LIFE, 3L);
+        Juice unchanged = new Juice(2L, "Kapo", "Coca-Cola", 40, 5, JuiceType.FOCUSED, 1L);
+        String csv = HEADER
+                + "Maguary,Del Valle,50,25,LIFE\n"
+                + "Kapo,Coca-Cola,40,5,FOCUSED\n"
+                + "Suvalan,Suvalan,60,12,SUPERFRUIT\n";
+
+        // when
+        when(JuiceRepository.findAllByNameIn(anyCollection())).thenReturn(List.of(changed, unchanged));
+        JuiceImportResultDTO result = JuiceCsvService.importCsv(asStream(csv));
+
+        // then
+        assertThat(result.getRows(), is(equalTo(3L)));
+        assertThat(result.getCreated(), is(equalTo(1L)));
+        assertThat(result.getUpdated(), is(equalTo(1L)));
+        assertThat(result.getUnchanged(), is(equalTo(1L)));
+        assertThat(result.getRejected(), is(equalTo(0L)));
+        assertThat(changed.getQuantity(), is(equalTo(25)));
+        verify(JuiceRepository).saveAll(List.of(new Juice(null, "Suvalan", "Suvalan", 60, 12, JuiceType.SUPERFRUIT, 0L)));
+        verify(JuiceNameFilter).put("Suvalan");
+
+        ArgumentCaptor<JuiceChangedEvent> events = ArgumentCaptor.forClass(JuiceChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0).getChangeType(), is(equalTo(JuiceChangeType.CREATED)));
+        assertThat(events.getAllValues().get(1).getChangeType(), is(equalTo(JuiceChangeType.UPDATED)));
+        assertThat(events.getAllValues().get(1).getQuantityDelta(), is(equalTo(15)));
+    }
+
+    @Test
+    void whenCsvHasInvalidRowsThenTheyAreReportedByLineAndValidRowsAreImported() throws Exception {
+        // given
+        String csv = HEADER
+                + "Suvalan,Suvalan,60,12,SUPERFRUIT\n"
+                + "Kapo,Coca-Cola,40,500,FOCUSED\n"
+                + "\n"
+                + "Tang,Mondelez,40,5,POWDER\n"
+                + ",Mondelez,40,5,LIFE\n";
+
+        // when
+        when(JuiceRepository.findAllByNameIn(anyCollection())).thenReturn(Collections.emptyList());
+        JuiceImportResultDTO result = JuiceCsvService.importCsv(asStream(csv));
+
+        // then
+        assertThat(result.getRows(), is(equalTo(4L)));
+        assertThat(result.getCreated(), is(equalTo(1L)));
+        assertThat(result.getRejected(), is(equalTo(3L)));
+        List<JuiceImportErrorDTO> errors = result.getErrors();
+        assertThat(errors.get(0).getLine(), is(equalTo(3L)));
+        assertThat(errors.get(0).getMessage(), startsWith("quantity"));
+        assertThat(errors.get(1).getLine(), is(equalTo(5L)));
+        assertThat(errors.get(2).getLine(), is(equalTo(6L)));
+        assertThat(errors.get(2).getMessage(), startsWith("name"));
+    }
+
+    @Test
+    void whenCsvHasAQuotedMultiLineFieldThenItIsReadAsOneRowAndLaterLinesKeepTheirNumbers() throws Exception {
+        // given
+        String csv = HEADER
+                + "\"Maguary\nLaranja\",\"Del Valle, Ltda\",50,10,LIFE\n"
+                + "Kapo,Coca-Cola,40,500,FOCUSED\n";
+
+        // when
+        when(JuiceRepository.findAllByNameIn(anyCollection())).thenReturn(Collections.emptyList());
+        JuiceImportResultDTO result = JuiceCsvService.importCsv(asStream(csv));
+
+        // then
+        assertThat(result.getRows(), is(equalTo(2L)));
+        assertThat(result.getCreated(), is(equalTo(1L)));
+        assertThat(result.getRejected(), is(equalTo(1L)));
+        assertThat(result.getErrors().get(0).getLine(), is(equalTo(4L)));
+        verify(JuiceRepository).saveAll(List.of(new Juice(null, "Maguary\nLaranja", "Del Valle, Ltda", 50, 10, JuiceType.LIFE, 0L)));
+    }
+
+    @Test
+    void whenCsvIsLargerThanAChunkThenEachChunkIsWrittenSeparately() throws Exception {
+        // given
+        properties.setChunkSize(2);
+        String csv = HEADER
+                + "a,Del Valle,50,1,LIFE\n"
+                + "b,Del Valle,50,2,LIFE\n"
+                + "c,Del Valle,50,3,LIFE\n";
+
+        // when
+        when(JuiceRepository.findAllByNameIn(anyCollection())).thenReturn(Collections.emptyList());
+        JuiceImportResultDTO result = JuiceCsvService.importCsv(asStream(csv));
+
+        // then
+        assertThat(result.getCreated(), is(equalTo(3L)));
+        verify(JuiceRepository, times(2)).findAllByNameIn(anyCollection());
+        verify(JuiceRepository, times(2)).flush();
+    }
+
+    @Test
+    void whenCsvHeaderLacksRequiredColumnsThenAnExceptionIsThrown() {
+        // then
+        assertThrows(JuiceCsvFormatException.class, () -> JuiceCsvService.importCsv(asStream("name,brand\nMaguary,Del Valle\n")));
+        verify(JuiceRepository, never()).findAllByNameIn(anyCollection());
+    }
+
+    @Test
+    void whenJuicesAreExportedThenCsvRowsFollowTheHeader() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().brand("Maguary").type(JuiceType.LIFE).build().toJuiceDTO();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        doAnswer(invocation -> {
+            Consumer<JuiceDTO> consumer = invocation.getArgument(0);
+            consumer.accept(JuiceDTO);
+            return null;
+        }).when(JuiceService).exportAll(any());
+        JuiceCsvService.exportCsv(outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(List.of(lines), contains("id,name,brand,max,quantity,type", "1,Maguary,Maguary,50,10,LIFE"));
+    }
+
+    private static InputStream asStream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
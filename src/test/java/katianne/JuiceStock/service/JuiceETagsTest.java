@@ -0,0 +1,63 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class JuiceETagsTest {
+
+    private final JuiceETags JuiceETags = new JuiceETags();
+
+    @Test
+    void whenJuiceVersionChangesThenItsETagChanges() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        JuiceDTO.setVersion(0L);
+        String eTag = JuiceETags.forJuice(JuiceDTO);
+
+        // when
+        JuiceDTO.setVersion(1L);
+
+        // then
+        assertThat(JuiceETags.forJuice(JuiceDTO), is(not(equalTo(eTag))));
+    }
+
+    @Test
+    void whenAListedJuiceChangesThenCatalogETagChanges() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        JuiceDTO.setVersion(0L);
+        String eTag = JuiceETags.forCatalog(List.of(JuiceDTO));
+
+        // when
+        JuiceDTO.setVersion(1L);
+
+        // then
+        assertThat(JuiceETags.forCatalog(List.of(JuiceDTO)), is(not(equalTo(eTag))));
+        assertThat(JuiceETags.forCatalog(List.of(JuiceDTO)).startsWith("W/\""), is(true));
+    }
+
+    @Test
+    void whenTheSameJuicesAreListedThenCatalogETagIsStable() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        JuiceDTO.setVersion(3L);
+
+        JuiceDTO sameJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        sameJuiceDTO.setVersion(3L);
+
+        // when
+        String eTag = JuiceETags.forCatalog(List.of(JuiceDTO));
+
+        // then
+        assertThat(JuiceETags.forCatalog(List.of(sameJuiceDTO)), is(equalTo(eTag)));
+        assertThat(JuiceETags.forCatalog(List.of()), is(not(equalTo(eTag))));
+    }
+}
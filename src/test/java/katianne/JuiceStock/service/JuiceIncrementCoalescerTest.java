@@ -0,0 +1,131 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.config.IncrementCoalescingProperties;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.exception.JuiceNotFoundException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "juice.increment.coalescing.enabled=true",
+        "juice.increment.coalescing.window-millis=20",
+        "juice.increment.coalescing.max-batch-size=16"
+})
+public class JuiceIncrementCoalescerTest {
+
+    private static final int INCREMENTS = 100;
+    private static final int QUANTITY_TO_INCREMENT = 10;
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        JuiceRepository.deleteAll();
+    }
+
+    @Test
+    void whenConcurrentIncrementsAreCoalescedThenEachCallerGetsItsOwnResult() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(null).max(500).quantity(0).build().toJuiceDTO();
+        Long id = JuiceService.createJuice(JuiceDTO).getId();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JuiceDTO>> results = new ArrayList<>();
+        for (int i = 0; i < INCREMENTS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return JuiceService.increment(id, QUANTITY_TO_INCREMENT);
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        Set<Long> versions = new HashSet<>();
+        for (Future<JuiceDTO> result : results) {
+            try {
+                JuiceDTO incrementedJuiceDTO = result.get(30, TimeUnit.SECONDS);
+                assertThat(incrementedJuiceDTO.getId(), equalTo(id));
+                assertThat(incrementedJuiceDTO.getQuantity(), equalTo((int) incrementedJuiceDTO.getVersion().longValue() * QUANTITY_TO_INCREMENT));
+                versions.add(incrementedJuiceDTO.getVersion());
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(JuiceStockExceededException.class));
+            }
+        }
+        executor.shutdown();
+
+        // then
+        long batches = meterRegistry.get("juice.increment.coalescing.batch.size").summary().count();
+        double largestBatch = meterRegistry.get("juice.increment.coalescing.batch.size").summary().max();
+        assertThat(succeeded, equalTo(500 / QUANTITY_TO_INCREMENT));
+        assertThat(JuiceRepository.findById(id).get().getQuantity(), equalTo(500));
+        assertThat(versions.size(), equalTo(succeeded));
+        assertThat(JuiceRepository.findById(id).get().getVersion(), equalTo((long) succeeded));
+        assertThat(batches, lessThan((long) INCREMENTS));
+        assertThat(largestBatch, lessThanOrEqualTo(16.0));
+    }
+
+    @Test
+    void whenCallerTimesOutThenItsIncrementIsNotAppliedByTheLaterFlush() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(null).max(500).quantity(0).build().toJuiceDTO();
+        Long id = JuiceService.createJuice(JuiceDTO).getId();
+        IncrementCoalescingProperties properties = new IncrementCoalescingProperties();
+        properties.setEnabled(true);
+        properties.setWindowMillis(60_000);
+        properties.setResultTimeoutMillis(20);
+        JuiceIncrementCoalescer coalescer = new JuiceIncrementCoalescer(JuiceRepository, properties, transactionManager, new SimpleMeterRegistry());
+
+        // when
+        assertThrows(QueryTimeoutException.class, () -> coalescer.increment(id, QUANTITY_TO_INCREMENT));
+        coalescer.shutdown();
+
+        // then
+        assertThat(JuiceRepository.findById(id).get().getQuantity(), equalTo(0));
+        assertThat(JuiceRepository.findById(id).get().getVersion(), equalTo(0L));
+    }
+
+    @Test
+    void whenCoalescedIncrementIsCalledWithInvalidIdThenThrowException() {
+        assertThrows(JuiceNotFoundException.class, () -> JuiceService.increment(Long.MAX_VALUE, QUANTITY_TO_INCREMENT));
+    }
+}
@@ -0,0 +1,158 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.config.JuiceReservationProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.ReservationDTO;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.JuiceStockUnavailableException;
+import katianne.JuiceStock.exception.ReservationNotFoundException;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JuiceReservationServiceTest {
+
+    @Mock
+    private JuiceRepository JuiceRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JuiceReservationService JuiceReservationService;
+
+    @BeforeEach
+    void setUp() {
+        JuiceReservationService = new JuiceReservationService(JuiceRepository, new JuiceReservationProperties(),
+                eventPublisher, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        JuiceReservationService.shutdown();
+    }
+
+    @Test
+    void whenStockIsReservedThenAvailableStockIsReducedWithoutWriting() throws Exception {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuiceDTO));
+        ReservationDTO reservationDTO = JuiceReservationService.reserve(expectedJuiceDTO.getId(), 4, null);
+
+        // then
+        assertThat(reservationDTO.getAvailable(), is(equalTo(expectedJuiceDTO.getQuantity() - 4)));
+        assertThat(JuiceReservationService.available(expectedJuiceDTO.getId()), is(equalTo(expectedJuiceDTO.getQuantity() - 4)));
+        verify(JuiceRepository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenReservationExceedsAvailableStockThenAnExceptionShouldBeThrown() throws Exception {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuiceDTO));
+        JuiceReservationService.reserve(expectedJuiceDTO.getId(), expectedJuiceDTO.getQuantity(), null);
+
+        // then
+        assertThrows(JuiceStockUnavailableException.class, () -> JuiceReservationService.reserve(expectedJuiceDTO.getId(), 1, null));
+    }
+
+    @Test
+    void whenReservationIsConfirmedThenStockIsDecrementedOnce() throws Exception {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        JuiceDTO confirmedJuice = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        confirmedJuice.setQuantity(expectedJuiceDTO.getQuantity() - 4);
+
+        // when
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuiceDTO), Optional.of(confirmedJuice));
+        when(JuiceRepository.decrementQuantity(expectedJuiceDTO.getId(), 4)).thenReturn(1);
+        ReservationDTO reservationDTO = JuiceReservationService.reserve(expectedJuiceDTO.getId(), 4, null);
+        JuiceDTO confirmedJuiceDTO = JuiceReservationService.confirm(reservationDTO.getId());
+
+        // then
+        assertThat(confirmedJuiceDTO.getQuantity(), is(equalTo(expectedJuiceDTO.getQuantity() - 4)));
+        verify(eventPublisher).publishEvent(JuiceChangedEvent.decremented(confirmedJuiceDTO, 4));
+        assertThrows(ReservationNotFoundException.class, () -> JuiceReservationService.confirm(reservationDTO.getId()));
+    }
+
+    @Test
+    void whenReservationIsReleasedThenStockIsAvailableAgain() throws Exception {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuiceDTO));
+        ReservationDTO reservationDTO = JuiceReservationService.reserve(expectedJuiceDTO.getId(), 4, null);
+        JuiceReservationService.release(reservationDTO.getId());
+
+        // then
+        assertThat(JuiceReservationService.available(expectedJuiceDTO.getId()), is(equalTo(expectedJuiceDTO.getQuantity())));
+        verify(JuiceRepository, never()).decrementQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenChangeEventIsOlderThanTheSeedThenItIsIgnored() throws Exception {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        expectedJuiceDTO.setVersion(3L);
+        JuiceDTO staleJuiceDTO = JuiceDTOBuilder.builder().quantity(5).build().toJuiceDTO();
+        staleJuiceDTO.setVersion(2L);
+        JuiceDTO newerJuiceDTO = JuiceDTOBuilder.builder().quantity(20).build().toJuiceDTO();
+        newerJuiceDTO.setVersion(4L);
+
+        // when
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuiceDTO));
+        JuiceReservationService.reserve(expectedJuiceDTO.getId(), 4, null);
+        JuiceReservationService.onJuiceChanged(JuiceChangedEvent.decremented(staleJuiceDTO, 5));
+        int availableAfterStaleEvent = JuiceReservationService.available(expectedJuiceDTO.getId());
+        JuiceReservationService.onJuiceChanged(JuiceChangedEvent.incremented(newerJuiceDTO, 10));
+
+        // then
+        assertThat(availableAfterStaleEvent, is(equalTo(expectedJuiceDTO.getQuantity() - 4)));
+        assertThat(JuiceReservationService.available(expectedJuiceDTO.getId()), is(equalTo(20 - 4)));
+    }
+
+    @Test
+    void whenChangeEventRepeatsTheCurrentVersionThenItIsIgnored() throws Exception {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().quantity(30).build().toJuiceDTO();
+        expectedJuiceDTO.setVersion(3L);
+        JuiceDTO lateJuiceDTO = JuiceDTOBuilder.builder().quantity(15).build().toJuiceDTO();
+        lateJuiceDTO.setVersion(3L);
+
+        // when
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuiceDTO));
+        JuiceReservationService.reserve(expectedJuiceDTO.getId(), 4, null);
+        JuiceReservationService.onJuiceChanged(JuiceChangedEvent.incremented(lateJuiceDTO, 5));
+
+        // then
+        assertThat(JuiceReservationService.available(expectedJuiceDTO.getId()), is(equalTo(30 - 4)));
+    }
+}
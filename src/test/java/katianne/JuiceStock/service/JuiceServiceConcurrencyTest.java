@@ -0,0 +1,154 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.StockAdjustmentDTO;
+import katianne.JuiceStock.dto.StockAdjustmentResultDTO;
+import katianne.JuiceStock.enums.StockAdjustmentMode;
+import katianne.JuiceStock.enums.StockAdjustmentStatus;
+import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+@SpringBootTest
+public class JuiceServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int INCREMENTS = 100;
+    private static final int QUANTITY_TO_INCREMENT = 10;
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @AfterEach
+    void tearDown() {
+        JuiceRepository.deleteAll();
+    }
+
+    @Test
+    void whenConcurrentIncrementsAreCalledThenNoUpdateIsLostAndMaxIsRespected() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(null).max(500).quantity(0).build().toJuiceDTO();
+        Long id = JuiceService.createJuice(JuiceDTO).getId();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JuiceDTO>> results = new ArrayList<>();
+        for (int i = 0; i < INCREMENTS; i++) {
+            Callable<JuiceDTO> increment = () -> {
+                start.await();
+                return JuiceService.increment(id, QUANTITY_TO_INCREMENT);
+            };
+            results.add(executor.submit(increment));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        int exceeded = 0;
+        for (Future<JuiceDTO> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(JuiceStockExceededException.class));
+                exceeded++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(succeeded, equalTo(500 / QUANTITY_TO_INCREMENT));
+        assertThat(exceeded, equalTo(INCREMENTS - succeeded));
+        assertThat(JuiceRepository.findById(id).get().getQuantity(), equalTo(500));
+    }
+
+    @Test
+    void whenConcurrentBatchIncrementsAreCalledThenNoneFailsAndMaxIsRespected() throws Exception {
+        // given
+        Long firstId = JuiceService.createJuice(JuiceDTOBuilder.builder().id(null).name("First").max(500).quantity(0).build().toJuiceDTO()).getId();
+        Long secondId = JuiceService.createJuice(JuiceDTOBuilder.builder().id(null).name("Second").max(500).quantity(0).build().toJuiceDTO()).getId();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<StockAdjustmentResultDTO>>> results = new ArrayList<>();
+        for (int i = 0; i < INCREMENTS; i++) {
+            List<StockAdjustmentDTO> adjustments = i % 2 == 0
+                    ? List.of(new StockAdjustmentDTO(firstId, QUANTITY_TO_INCREMENT), new StockAdjustmentDTO(secondId, QUANTITY_TO_INCREMENT))
+                    : List.of(new StockAdjustmentDTO(secondId, QUANTITY_TO_INCREMENT), new StockAdjustmentDTO(firstId, QUANTITY_TO_INCREMENT));
+            results.add(executor.submit(() -> {
+                start.await();
+                return JuiceService.incrementAll(adjustments, StockAdjustmentMode.ALL_OR_NOTHING);
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<List<StockAdjustmentResultDTO>> result : results) {
+            if (result.get(30, TimeUnit.SECONDS).get(0).getStatus() == StockAdjustmentStatus.INCREMENTED) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(succeeded, equalTo(500 / QUANTITY_TO_INCREMENT));
+        assertThat(JuiceRepository.findById(firstId).get().getQuantity(), equalTo(500));
+        assertThat(JuiceRepository.findById(secondId).get().getQuantity(), equalTo(500));
+    }
+
+    @Test
+    void whenConcurrentDuplicateCreationsAreSubmittedThenOnlyOneJuiceIsCreated() throws Exception {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(null).build().toJuiceDTO();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<JuiceDTO>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return JuiceService.createJuice(JuiceDTO);
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<JuiceDTO> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(JuiceAlreadyRegisteredException.class));
+            }
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(created, equalTo(1));
+        assertThat(JuiceRepository.count(), equalTo(1L));
+    }
+}
@@ -0,0 +1,92 @@
+package katianne.JuiceStock.service;
+
+import katianne.JuiceStock.config.SqlRoundTripFilter;
+import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static katianne.JuiceStock.utils.SqlRoundTripAssertions.assertStatements;
+import static katianne.JuiceStock.utils.SqlRoundTripAssertions.assertStatementsAndLoads;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class JuiceServiceSqlBudgetTest {
+
+    @Autowired
+    private JuiceService JuiceService;
+
+    @Autowired
+    private JuiceRepository JuiceRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Juice juice;
+
+    @BeforeEach
+    void setUp() {
+        juice = JuiceRepository.saveAndFlush(new Juice(null, "budget-" + System.nanoTime(), "Del Valle", 50, 10, JuiceType.LIFE, 0L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        JuiceRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void whenJuiceIsFoundByNameThenOneProjectionIsQueriedAndThenCached() throws Exception {
+        // then
+        assertStatementsAndLoads(1, 0, () -> JuiceService.findByName(juice.getName()));
+        assertStatements(0, () -> JuiceService.findByName(juice.getName()));
+    }
+
+    @Test
+    void whenJuicesAreListedThenOneProjectionIsQueried() throws Exception {
+        // then
+        assertStatementsAndLoads(1, 0, () -> JuiceService.listAll(0L, 100));
+    }
+
+    @Test
+    void whenJuiceIsIncrementedThenOneUpdateAndOneProjectionAreIssued() throws Exception {
+        // then
+        assertStatementsAndLoads(2, 0, () -> JuiceService.increment(juice.getId(), 5));
+    }
+
+    @Test
+    void whenJuiceIsDeletedThenOneLockingReadAndOneDeleteAreIssued() throws Exception {
+        // then
+        assertStatementsAndLoads(2, 1, () -> JuiceService.deleteById(juice.getId()));
+    }
+
+    @Test
+    void whenJuicesAreDeletedByTypeThenOneDeleteIsIssuedForAllOfThem() throws Exception {
+        // given
+        for (int i = 0; i < 5; i++) {
+            JuiceRepository.save(new Juice(null, juice.getName() + "-" + i, "Del Valle", 50, 10, JuiceType.LIFE, 0L));
+        }
+        JuiceRepository.flush();
+
+        // then
+        assertStatementsAndLoads(2, 6, () -> JuiceService.deleteAllByType(JuiceType.LIFE, "Del Valle"));
+    }
+
+    @Test
+    void whenJuiceIsRequestedOverHttpThenRoundTripsAreReportedInHeaders() throws Exception {
+        // then
+        mockMvc.perform(get("/api/v1/Juices/" + juice.getName()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlRoundTripFilter.STATEMENTS_HEADER, "1"))
+                .andExpect(header().string(SqlRoundTripFilter.ENTITY_LOADS_HEADER, "0"))
+                .andExpect(header().exists(SqlRoundTripFilter.JDBC_TIME_HEADER));
+    }
+}
@@ -2,21 +2,38 @@ package katianne.JuiceStock.service;
 
 import katianne.juiceStock.builder.JuiceDTOBuilder;
 import katianne.juiceStock.dto.JuiceDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.config.JuiceCacheProperties;
+import katianne.JuiceStock.dto.JuiceBulkDeleteResultDTO;
+import katianne.JuiceStock.dto.StockAdjustmentDTO;
+import katianne.JuiceStock.dto.StockAdjustmentResultDTO;
 import katianne.JuiceStock.entity.Juice;
+import katianne.JuiceStock.enums.StockAdjustmentMode;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.enums.StockAdjustmentStatus;
+import katianne.JuiceStock.event.JuiceChangedEvent;
 import katianne.JuiceStock.exception.JuiceAlreadyRegisteredException;
 import katianne.JuiceStock.exception.JuiceNotFoundException;
 import katianne.JuiceStock.exception.JuiceStockExceededException;
 import katianne.JuiceStock.mapper.JuiceMapper;
 import katianne.JuiceStock.repository.JuiceRepository;
 import org.hamcrest.MatcherAssert;
+import org.hibernate.exception.ConstraintViolationException;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +62,27 @@ public class JuiceServiceTest {
     @Mock
     private JuiceRepository JuiceRepository;
 
+    @Mock
+    private JuiceIncrementCoalescer JuiceIncrementCoalescer;
+
+    @Mock
+    private JuiceNameFilter JuiceNameFilter;
+
+    @Mock
+    private JuiceStockSummary JuiceStockSummary;
+
+    @Mock
+    private JuiceETags JuiceETags;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private JuiceCache JuiceCache = new JuiceCache(new JuiceCacheProperties(), new SimpleMeterRegistry(), Optional.empty());
+
     private JuiceMapper JuiceMapper = JuiceMapper.INSTANCE;
 
     @InjectMocks
@@ -57,8 +95,7 @@ public class JuiceServiceTest {
         Juice expectedSavedJuice = JuiceMapper.toModel(expectedJuiceDTO);
 
         // when
-        when(JuiceRepository.findByName(expectedJuiceDTO.getName())).thenReturn(Optional.empty());
-        when(JuiceRepository.save(expectedSavedJuice)).thenReturn(expectedSavedJuice);
+        when(JuiceRepository.saveAndFlush(any(Juice.class))).thenReturn(expectedSavedJuice);
 
         //then
         JuiceDTO createdJuiceDTO = JuiceService.createJuice(expectedJuiceDTO);
@@ -66,29 +103,75 @@ public class JuiceServiceTest {
         assertThat(createdJuiceDTO.getId(), is(equalTo(expectedJuiceDTO.getId())));
         assertThat(createdJuiceDTO.getName(), is(equalTo(expectedJuiceDTO.getName())));
         assertThat(createdJuiceDTO.getQuantity(), is(equalTo(expectedJuiceDTO.getQuantity())));
+        verify(JuiceRepository, never()).findByName(expectedJuiceDTO.getName());
     }
 
     @Test
     void whenAlreadyRegisteredJuiceInformedThenAnExceptionShouldBeThrown() {
         // given
         JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.saveAndFlush(any(Juice.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, "PUBLIC.UK_JUICE_NAME_INDEX_5 ON PUBLIC.JUICE(NAME)")));
+
+        // then
+        assertThrows(JuiceAlreadyRegisteredException.class, () -> JuiceService.createJuice(expectedJuiceDTO));
+    }
+
+    @Test
+    void whenAnotherConstraintIsViolatedThenTheViolationIsNotReportedAsDuplicate() {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.saveAndFlush(any(Juice.class))).thenThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", null, "NULL not allowed for column \"BRAND\"")));
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> JuiceService.createJuice(expectedJuiceDTO));
+    }
+
+    @Test
+    void whenBatchContainsRegisteredJuicesThenOnlyTheirNamesAreReported() {
+        // given
+        JuiceDTO registeredJuiceDTO = JuiceDTOBuilder.builder().name("Registered").build().toJuiceDTO();
+        JuiceDTO newJuiceDTO = JuiceDTOBuilder.builder().name("New").build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findRegisteredNames(any())).thenReturn(List.of("Registered"));
+        JuiceAlreadyRegisteredException exception = assertThrows(JuiceAlreadyRegisteredException.class,
+                () -> JuiceService.createJuices(List.of(registeredJuiceDTO, newJuiceDTO)));
+
+        // then
+        assertThat(exception.getMessage(), containsString("Registered"));
+        assertThat(exception.getMessage(), not(containsString("New")));
+        verify(JuiceRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void whenNameFilterMightContainTheNameThenAlreadyRegisteredJuiceIsRejectedBeforeInsert() {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
         Juice duplicatedJuice = JuiceMapper.toModel(expectedJuiceDTO);
 
         // when
+        when(JuiceNameFilter.isEnabled()).thenReturn(true);
+        when(JuiceNameFilter.mightContain(expectedJuiceDTO.getName())).thenReturn(true);
         when(JuiceRepository.findByName(expectedJuiceDTO.getName())).thenReturn(Optional.of(duplicatedJuice));
 
         // then
         assertThrows(JuiceAlreadyRegisteredException.class, () -> JuiceService.createJuice(expectedJuiceDTO));
+        verify(JuiceRepository, never()).saveAndFlush(any(Juice.class));
     }
 
     @Test
     void whenValidJuiceNameIsGivenThenReturnAJuice() throws JuiceNotFoundException {
         // given
         JuiceDTO expectedFoundJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
-         Juice expectedFoundJuice = JuiceMapper.toModel(expectedFoundJuiceDTO);
 
         // when
-        when(JuiceRepository.findByName(expectedFoundJuice.getName())).thenReturn(Optional.of(expectedFoundJuice));
+        when(JuiceRepository.findDTOByName(expectedFoundJuiceDTO.getName())).thenReturn(Optional.of(expectedFoundJuiceDTO));
 
         // then
        JuiceDTO foundJuiceDTO = JuiceService.findByName(expectedFoundJuiceDTO.getName());
@@ -96,13 +179,53 @@ public class JuiceServiceTest {
         assertThat(foundJuiceDTO, is(equalTo(expectedFoundJuiceDTO)));
     }
 
+    @Test
+    void whenJuiceNameIsGivenTwiceThenTheSecondLookupIsServedFromCache() throws JuiceNotFoundException {
+        // given
+        JuiceDTO expectedFoundJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findDTOByName(expectedFoundJuiceDTO.getName())).thenReturn(Optional.of(expectedFoundJuiceDTO));
+
+        // then
+        JuiceService.findByName(expectedFoundJuiceDTO.getName());
+        JuiceDTO foundJuiceDTO = JuiceService.findByName(expectedFoundJuiceDTO.getName());
+
+        assertThat(foundJuiceDTO, is(equalTo(expectedFoundJuiceDTO)));
+        verify(JuiceRepository, times(1)).findDTOByName(expectedFoundJuiceDTO.getName());
+    }
+
+    @Test
+    void whenCachedJuiceIsDeletedThenTheNextLookupGoesToTheRepository() throws JuiceNotFoundException {
+        // given
+        JuiceDTO expectedFoundJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        expectedFoundJuiceDTO.setVersion(0L);
+
+        // when
+        when(JuiceRepository.findDTOByName(expectedFoundJuiceDTO.getName())).thenReturn(Optional.of(expectedFoundJuiceDTO), Optional.empty());
+        when(JuiceRepository.findByIdForUpdate(expectedFoundJuiceDTO.getId())).thenReturn(Optional.of(JuiceMapper.toModel(expectedFoundJuiceDTO)));
+
+        // then
+        JuiceService.findByName(expectedFoundJuiceDTO.getName());
+        JuiceService.deleteById(expectedFoundJuiceDTO.getId());
+
+        ArgumentCaptor<JuiceChangedEvent> event = ArgumentCaptor.forClass(JuiceChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getChangeType(), is(equalTo(JuiceChangeType.DELETED)));
+        JuiceCache.onJuiceChanged(event.getValue());
+
+        assertThrows(JuiceNotFoundException.class, () -> JuiceService.findByName(expectedFoundJuiceDTO.getName()));
+        assertThrows(JuiceNotFoundException.class, () -> JuiceService.findByName(expectedFoundJuiceDTO.getName()));
+        verify(JuiceRepository, times(2)).findDTOByName(expectedFoundJuiceDTO.getName());
+    }
+
     @Test
     void whenNotRegisteredJuiceNameIsGivenThenThrowAnException() {
         // given
         JuiceDTO expectedFoundJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
 
         // when
-        when(JuiceRepository.findByName(expectedFoundJuiceDTO.getName())).thenReturn(Optional.empty());
+        when(JuiceRepository.findDTOByName(expectedFoundJuiceDTO.getName())).thenReturn(Optional.empty());
 
         // then
         assertThrows(JuiceNotFoundException.class, () -> JuiceService.findByName(expectedFoundJuiceDTO.getName()));
@@ -112,13 +235,12 @@ public class JuiceServiceTest {
     void whenListJuiceIsCalledThenReturnAListOfJuices() {
         // given
         JuiceDTO expectedFoundJuiceDTO = Juice.builder().build().toJuiceDTO();
-        Juice expectedFoundJuice = JuiceMapper.toModel(expectedFoundJuiceDTO);
 
         //when
-        when(JuiceRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundJuice));
+        when(JuiceRepository.findDTOsByIdGreaterThan(0L, PageRequest.of(0, 100))).thenReturn(Collections.singletonList(expectedFoundJuiceDTO));
 
         //then
-        List<JuiceDTO> foundListJuicesDTO = JuiceService.listAll();
+        List<JuiceDTO> foundListJuicesDTO = JuiceService.listAll(0L, 100);
 
         assertThat(foundListJuicesDTO, is(not(empty())));
         assertThat(foundListJuicesDTO.get(0), is(equalTo(expectedFoundJuiceDTO)));
@@ -127,10 +249,21 @@ public class JuiceServiceTest {
     @Test
     void whenListJuiceIsCalledThenReturnAnEmptyListOfJuices() {
         //when
-        when(JuiceRepository.findAll()).thenReturn(Collections.EMPTY_LIST);
+        when(JuiceRepository.findDTOsByIdGreaterThan(0L, PageRequest.of(0, 100))).thenReturn(Collections.EMPTY_LIST);
+
+        //then
+        List<JuiceDTO> foundListJuicesDTO = JuiceService.listAll(0L, 100);
+
+        assertThat(foundListJuicesDTO, is(empty()));
+    }
+
+    @Test
+    void whenListJuiceIsCalledWithLimitAboveMaxThenLimitIsCapped() {
+        //when
+        when(JuiceRepository.findDTOsByIdGreaterThan(10L, PageRequest.of(0, 1000))).thenReturn(Collections.EMPTY_LIST);
 
         //then
-        List<JuiceDTO> foundListJuicesDTO = JuiceService.listAll();
+        List<JuiceDTO> foundListJuicesDTO = JuiceService.listAll(10L, 1_000_000);
 
         assertThat(foundListJuicesDTO, is(empty()));
     }
@@ -140,57 +273,125 @@ public class JuiceServiceTest {
         // given
         JuiceDTO expectedDeletedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
         Juice expectedDeletedJuice = JuiceMapper.toModel(expectedDeletedJuiceDTO);
+        expectedDeletedJuice.setVersion(3L);
 
         // when
-        when(JuiceRepository.findById(expectedDeletedJuiceDTO.getId())).thenReturn(Optional.of(expectedDeletedJuice));
-        doNothing().when(JuiceRepository).deleteById(expectedDeletedJuiceDTO.getId());
+        when(JuiceRepository.findByIdForUpdate(expectedDeletedJuiceDTO.getId())).thenReturn(Optional.of(expectedDeletedJuice));
 
         // then
         JuiceService.deleteById(expectedDeletedJuiceDTO.getId());
 
-        verify(JuiceRepository, times(1)).findById(expectedDeletedJuiceDTO.getId());
-        verify(JuiceRepository, times(1)).deleteById(expectedDeletedJuiceDTO.getId());
+        verify(JuiceRepository, times(1)).deleteRowById(expectedDeletedJuiceDTO.getId());
+        verify(JuiceRepository, never()).findById(expectedDeletedJuiceDTO.getId());
+        verify(JuiceRepository, never()).deleteById(expectedDeletedJuiceDTO.getId());
+    }
+
+    @Test
+    void whenExclusionIsCalledWithInvalidIdThenNothingIsDeleted() {
+        // when
+        when(JuiceRepository.findByIdForUpdate(INVALID_Juice_ID)).thenReturn(Optional.empty());
+
+        // then
+        assertThrows(JuiceNotFoundException.class, () -> JuiceService.deleteById(INVALID_Juice_ID));
+        verify(JuiceRepository, never()).deleteRowById(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void whenJuiceIsDeletedThenTheEventCarriesTheQuantityReadUnderTheLock() throws JuiceNotFoundException {
+        // given
+        Juice lockedJuice = JuiceMapper.toModel(JuiceDTOBuilder.builder().quantity(20).build().toJuiceDTO());
+        lockedJuice.setVersion(2L);
+
+        // when
+        when(JuiceRepository.findByIdForUpdate(lockedJuice.getId())).thenReturn(Optional.of(lockedJuice));
+        JuiceService.deleteById(lockedJuice.getId());
+
+        // then
+        ArgumentCaptor<JuiceChangedEvent> event = ArgumentCaptor.forClass(JuiceChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getQuantityDelta(), is(equalTo(-20)));
+        verify(JuiceRepository, times(1)).findByIdForUpdate(lockedJuice.getId());
+    }
+
+    @Test
+    void whenJuicesAreDeletedByTypeThenOneDeleteIsIssuedForAllOfThem() {
+        // given
+        JuiceDTO firstJuiceDTO = JuiceDTOBuilder.builder().id(1L).build().toJuiceDTO();
+        JuiceDTO secondJuiceDTO = JuiceDTOBuilder.builder().id(2L).name("Kapo").build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findAllByTypeAndBrandForUpdate(firstJuiceDTO.getType(), null))
+                .thenReturn(List.of(JuiceMapper.toModel(firstJuiceDTO), JuiceMapper.toModel(secondJuiceDTO)));
+        when(JuiceRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        JuiceBulkDeleteResultDTO result = JuiceService.deleteAllByType(firstJuiceDTO.getType(), null);
+
+        // then
+        assertThat(result.getDeleted(), is(equalTo(2L)));
+        assertThat(result.getIds(), contains(1L, 2L));
+        verify(JuiceRepository, times(1)).deleteAllByIdIn(anyCollection());
+        verify(eventPublisher, times(2)).publishEvent(any(JuiceChangedEvent.class));
+    }
+
+    @Test
+    void whenJuicesAreDeletedByIdThenUnknownIdsAreSkipped() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(1L).build().toJuiceDTO();
+
+        // when
+        when(JuiceRepository.findAllByIdForUpdate(List.of(1L, 99L))).thenReturn(List.of(JuiceMapper.toModel(JuiceDTO)));
+        when(JuiceRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
+        JuiceBulkDeleteResultDTO result = JuiceService.deleteAllById(List.of(99L, 1L, 1L));
+
+        // then
+        assertThat(result.getDeleted(), is(equalTo(1L)));
+        assertThat(result.getIds(), contains(1L));
     }
 
     @Test
     void whenIncrementIsCalledThenIncrementJuiceStock() throws JuiceNotFoundException, JuiceStockExceededException {
         //given
         JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
-        Juice expectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
-
-        //when
-        when(JuiceRepository.findById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuice));
-        when(JuiceRepository.save(expectedJuice)).thenReturn(expectedJuice);
+        JuiceDTO incrementedJuiceStock = JuiceDTOBuilder.builder().build().toJuiceDTO();
 
         int quantityToIncrement = 10;
         int expectedQuantityAfterIncrement = expectedJuiceDTO.getQuantity() + quantityToIncrement;
+        incrementedJuiceStock.setQuantity(expectedQuantityAfterIncrement);
+
+        //when
+        when(JuiceRepository.incrementQuantity(expectedJuiceDTO.getId(), quantityToIncrement)).thenReturn(1);
+        when(JuiceRepository.findDTOById(expectedJuiceDTO.getId())).thenReturn(Optional.of(incrementedJuiceStock));
 
         // then
         JuiceDTO incrementedJuiceDTO = JuiceService.increment(expectedJuiceDTO.getId(), quantityToIncrement);
 
         assertThat(expectedQuantityAfterIncrement, equalTo(incrementedJuiceDTO.getQuantity()));
         assertThat(expectedQuantityAfterIncrement, lessThan(expectedJuiceDTO.getMax()));
+        verify(JuiceRepository, never()).save(any(Juice.class));
+        verify(eventPublisher).publishEvent(JuiceChangedEvent.incremented(incrementedJuiceDTO, quantityToIncrement));
     }
 
     @Test
     void whenIncrementIsGreatherThanMaxThenThrowException() {
         JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
-        Juice expectedJuice= JuiceMapper.toModel(expectedJuiceDTO);
-
-        when(JuiceRepository.findById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedvJuice));
+        Juice expectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
 
         int quantityToIncrement = 80;
+        when(JuiceRepository.incrementQuantity(expectedJuiceDTO.getId(), quantityToIncrement)).thenReturn(0);
+        when(JuiceRepository.findById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuice));
+
         assertThrows(JuiceStockExceededException.class, () -> JuiceService.increment(expectedJuiceDTO.getId(), quantityToIncrement));
     }
 
     @Test
     void whenIncrementAfterSumIsGreatherThanMaxThenThrowException() {
         JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
-        JuiceexpectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
+        Juice expectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
 
+        int quantityToIncrement = 45;
+        when(JuiceRepository.incrementQuantity(expectedJuiceDTO.getId(), quantityToIncrement)).thenReturn(0);
         when(JuiceRepository.findById(expectedJuiceDTO.getId())).thenReturn(Optional.of(expectedJuice));
 
-        int quantityToIncrement = 45;
         assertThrows(JuiceStockExceededException.class, () -> JuiceService.increment(expectedJuiceDTO.getId(), quantityToIncrement));
     }
 
@@ -198,10 +399,74 @@ public class JuiceServiceTest {
     void whenIncrementIsCalledWithInvalidIdThenThrowException() {
         int quantityToIncrement = 10;
 
+        when(JuiceRepository.incrementQuantity(INVALID_Juice_ID, quantityToIncrement)).thenReturn(0);
         when(JuiceRepository.findById(INVALID_Juice_ID)).thenReturn(Optional.empty());
 
         assertThrows(JuiceNotFoundException.class, () -> JuiceService.increment(INVALID_Juice_ID, quantityToIncrement));
     }
+
+    @Test
+    void whenIncrementAllIsCalledInPartialModeThenValidAdjustmentsAreApplied() {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        Juice expectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
+        List<StockAdjustmentDTO> adjustments = Arrays.asList(
+                new StockAdjustmentDTO(expectedJuiceDTO.getId(), 10),
+                new StockAdjustmentDTO(expectedJuiceDTO.getId(), 45),
+                new StockAdjustmentDTO(2L, 10));
+
+        // when
+        when(JuiceRepository.findAllByIdForUpdate(any())).thenReturn(Collections.singletonList(expectedJuice));
+
+        // then
+        List<StockAdjustmentResultDTO> results = JuiceService.incrementAll(adjustments, StockAdjustmentMode.PARTIAL);
+
+        assertThat(results.get(0).getStatus(), is(equalTo(StockAdjustmentStatus.INCREMENTED)));
+        assertThat(results.get(0).getJuice().getQuantity(), is(equalTo(expectedJuiceDTO.getQuantity() + 10)));
+        assertThat(results.get(1).getStatus(), is(equalTo(StockAdjustmentStatus.EXCEEDED)));
+        assertThat(results.get(2).getStatus(), is(equalTo(StockAdjustmentStatus.NOT_FOUND)));
+        assertThat(expectedJuice.getQuantity(), is(equalTo(expectedJuiceDTO.getQuantity() + 10)));
+    }
+
+    @Test
+    void whenIncrementAllAdjustsAJuiceTwiceThenOneEventCarriesItsFinalState() {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        Juice expectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
+        List<StockAdjustmentDTO> adjustments = Arrays.asList(
+                new StockAdjustmentDTO(expectedJuiceDTO.getId(), 10),
+                new StockAdjustmentDTO(expectedJuiceDTO.getId(), 5));
+
+        // when
+        when(JuiceRepository.findAllByIdForUpdate(any())).thenReturn(Collections.singletonList(expectedJuice));
+        JuiceService.incrementAll(adjustments, StockAdjustmentMode.PARTIAL);
+
+        // then
+        ArgumentCaptor<JuiceChangedEvent> event = ArgumentCaptor.forClass(JuiceChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getJuice().getQuantity(), is(equalTo(expectedJuiceDTO.getQuantity() + 15)));
+        assertThat(event.getValue().getQuantityDelta(), is(equalTo(15)));
+    }
+
+    @Test
+    void whenIncrementAllIsCalledInAllOrNothingModeWithAnInvalidAdjustmentThenNothingIsApplied() {
+        // given
+        JuiceDTO expectedJuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+        Juice expectedJuice = JuiceMapper.toModel(expectedJuiceDTO);
+        List<StockAdjustmentDTO> adjustments = Arrays.asList(
+                new StockAdjustmentDTO(expectedJuiceDTO.getId(), 10),
+                new StockAdjustmentDTO(expectedJuiceDTO.getId(), 45));
+
+        // when
+        when(JuiceRepository.findAllByIdForUpdate(any())).thenReturn(Collections.singletonList(expectedJuice));
+
+        // then
+        List<StockAdjustmentResultDTO> results = JuiceService.incrementAll(adjustments, StockAdjustmentMode.ALL_OR_NOTHING);
+
+        assertThat(results.get(0).getStatus(), is(equalTo(StockAdjustmentStatus.NOT_APPLIED)));
+        assertThat(results.get(1).getStatus(), is(equalTo(StockAdjustmentStatus.EXCEEDED)));
+        assertThat(expectedJuice.getQuantity(), is(equalTo(expectedJuiceDTO.getQuantity())));
+    }
 //
 //    @Test
 //    void whenDecrementIsCalledThenDecrementJuiceStock() throws JuiceNotFoundException, JuiceStockExceededException {
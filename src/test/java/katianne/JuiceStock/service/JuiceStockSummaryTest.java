@@ -0,0 +1,114 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.StockSummaryDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.enums.StockGrouping;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JuiceStockSummaryTest {
+
+    @Mock
+    private JuiceRepository JuiceRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private JuiceStockSummary JuiceStockSummary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        JuiceStockSummary = new JuiceStockSummary(JuiceRepository, meterRegistry);
+        when(JuiceRepository.sumStockByTypeAndBrand()).thenReturn(Collections.emptyList());
+        JuiceStockSummary.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void whenJuicesChangeThenGaugesAreUpdatedIncrementally() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.created(JuiceDTO));
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.incremented(JuiceDTO, 15));
+
+        // then
+        double quantity = meterRegistry.get("juice.stock.quantity").tag("type", JuiceDTO.getType().name()).gauge().value();
+        double fillRatio = meterRegistry.get("juice.stock.fill.ratio").tag("type", JuiceDTO.getType().name()).gauge().value();
+        assertThat(quantity, is(equalTo(25.0)));
+        assertThat(fillRatio, is(closeTo(0.5, 0.0001)));
+    }
+
+    @Test
+    void whenJuiceIsDeletedThenItsStockAndCapacityAreRemoved() {
+        // given
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().build().toJuiceDTO();
+
+        // when
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.created(JuiceDTO));
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.deleted(JuiceDTO));
+
+        // then
+        assertThat(JuiceStockSummary.quantity(JuiceDTO.getType()), is(equalTo(0L)));
+        assertThat(JuiceStockSummary.fillRatio(JuiceType.values()[0]), is(equalTo(0.0)));
+    }
+
+    @Test
+    void whenJuiceIsUpdatedThenItsStockMovesToTheNewGroup() {
+        // given
+        JuiceDTO lifeJuice = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO focusedJuice = JuiceDTOBuilder.builder().type(JuiceType.FOCUSED).max(80).quantity(30).build().toJuiceDTO();
+
+        // when
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.created(lifeJuice));
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.updated(lifeJuice, focusedJuice));
+
+        // then
+        assertThat(JuiceStockSummary.quantity(JuiceType.LIFE), is(equalTo(0L)));
+        assertThat(JuiceStockSummary.quantity(JuiceType.FOCUSED), is(equalTo(30L)));
+        assertThat(JuiceStockSummary.summarize(StockGrouping.TYPE), contains(new StockSummaryDTO(JuiceType.FOCUSED, null, 30, 80, 0.375, 1)));
+    }
+
+    @Test
+    void whenStockIsSummarizedThenTotalsAreGroupedByTheRequestedKeys() {
+        // given
+        JuiceDTO lifeDelValle = JuiceDTOBuilder.builder().id(1L).name("a").brand("Del Valle").type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO lifeMaguary = JuiceDTOBuilder.builder().id(2L).name("b").brand("Maguary").type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO focusedDelValle = JuiceDTOBuilder.builder().id(3L).name("c").brand("Del Valle").type(JuiceType.FOCUSED).build().toJuiceDTO();
+
+        // when
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.created(lifeDelValle));
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.created(lifeMaguary));
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.created(focusedDelValle));
+        JuiceStockSummary.onJuiceChanged(JuiceChangedEvent.deleted(focusedDelValle));
+
+        // then
+        List<StockSummaryDTO> byType = JuiceStockSummary.summarize(StockGrouping.TYPE);
+        List<StockSummaryDTO> byBrand = JuiceStockSummary.summarize(StockGrouping.BRAND);
+        assertThat(byType, contains(new StockSummaryDTO(JuiceType.LIFE, null, 20, 100, 0.2, 2)));
+        assertThat(byBrand, contains(
+                new StockSummaryDTO(null, "Del Valle", 10, 50, 0.2, 1),
+                new StockSummaryDTO(null, "Maguary", 10, 50, 0.2, 1)));
+        assertThat(JuiceStockSummary.summarize(StockGrouping.TYPE_AND_BRAND).size(), is(equalTo(2)));
+    }
+}
@@ -0,0 +1,57 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.config.StockLedgerProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.repository.JuiceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StockLedgerBootstrapTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JuiceRepository JuiceRepository;
+
+    @Test
+    void whenCatalogHasJuicesMissingFromOrBehindTheLedgerThenTheirQuantitiesAreAppendedAsBaselines() throws Exception {
+        // given
+        StockLedgerProperties properties = new StockLedgerProperties();
+        properties.setDirectory(directory.toString());
+        StockLedger stockLedger = new StockLedger(properties, new SimpleMeterRegistry());
+        stockLedger.append(JuiceChangeType.CREATED, 1L, 0L, 10);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 1L, 1L, 15);
+
+        // when
+        JuiceDTO ledgerJuiceDTO = JuiceDTOBuilder.builder().id(1L).quantity(99).build().toJuiceDTO();
+        JuiceDTO missingJuiceDTO = JuiceDTOBuilder.builder().id(2L).name("Kapo").quantity(30).build().toJuiceDTO();
+        ledgerJuiceDTO.setVersion(5L);
+        missingJuiceDTO.setVersion(3L);
+        when(JuiceRepository.findDTOsByIdGreaterThan(0L, PageRequest.of(0, 1000))).thenReturn(List.of(ledgerJuiceDTO, missingJuiceDTO));
+        new StockLedgerBootstrap(stockLedger, JuiceRepository, new SimpleMeterRegistry()).afterSingletonsInstantiated();
+        stockLedger.append(JuiceChangeType.INCREMENTED, 2L, 4L, 34);
+
+        // then
+        assertThat(stockLedger.stockOf(1L).get().getQuantity(), is(equalTo(99)));
+        assertThat(stockLedger.stockOf(2L).get().getQuantity(), is(equalTo(34)));
+        assertThat(stockLedger.getSequence(), is(equalTo(5L)));
+        stockLedger.close();
+    }
+}
@@ -0,0 +1,36 @@
+package katianne.JuiceStock.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class StockLedgerTableTest {
+
+    @Test
+    void whenHalfOfTheJuicesAreDeletedThenTheOthersAreStillFound() {
+        // given
+        StockLedgerTable table = new StockLedgerTable(4);
+
+        // when
+        for (long juiceId = 1; juiceId <= 10_000; juiceId++) {
+            table.put(juiceId, (int) juiceId, 0L);
+            table.put(juiceId, (int) juiceId + 1, 1L);
+        }
+        for (long juiceId = 2; juiceId <= 10_000; juiceId += 2) {
+            table.delete(juiceId, 1L);
+        }
+
+        // then
+        assertThat(table.size(), is(equalTo(10_000)));
+        for (long juiceId = 1; juiceId <= 10_000; juiceId++) {
+            assertThat(table.contains(juiceId), is(juiceId % 2 == 1));
+            assertThat(table.versionOf(juiceId), is(equalTo(1L)));
+            if (juiceId % 2 == 1) {
+                assertThat(table.get(juiceId), is(equalTo((int) juiceId + 1)));
+            }
+        }
+        assertThat(table.versionOf(10_001L), is(equalTo(StockLedgerTable.NO_VERSION)));
+    }
+}
@@ -0,0 +1,227 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.config.StockLedgerProperties;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.LedgerStockDTO;
+import katianne.JuiceStock.enums.JuiceChangeType;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.LedgerReplayTooLongException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StockLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    private StockLedgerProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StockLedgerProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(DataSize.ofBytes(4L * StockLedger.RECORD_SIZE));
+        properties.setSnapshotInterval(Long.MAX_VALUE);
+    }
+
+    @Test
+    void whenLedgerIsReopenedWithoutSnapshotThenStockIsRebuiltFromEverySegment() throws Exception {
+        // given
+        StockLedger stockLedger = open();
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().id(7L).quantity(10).build().toJuiceDTO();
+        JuiceDTO deletedJuiceDTO = JuiceDTOBuilder.builder().id(8L).quantity(3).build().toJuiceDTO();
+        JuiceDTO.setVersion(0L);
+        deletedJuiceDTO.setVersion(0L);
+
+        // when
+        stockLedger.onJuiceChanged(JuiceChangedEvent.created(JuiceDTO));
+        stockLedger.onJuiceChanged(JuiceChangedEvent.created(deletedJuiceDTO));
+        for (int i = 0; i < 5; i++) {
+            stockLedger.onJuiceChanged(JuiceChangedEvent.incremented(adjusted(JuiceDTO, 2), 2));
+        }
+        stockLedger.onJuiceChanged(JuiceChangedEvent.decremented(adjusted(JuiceDTO, -4), 4));
+        stockLedger.onJuiceChanged(JuiceChangedEvent.deleted(deletedJuiceDTO));
+        StockLedger reopenedLedger = open();
+
+        // then
+        assertThat(segments(), is(greaterThan(2L)));
+        assertThat(reopenedLedger.getSequence(), is(equalTo(9L)));
+        assertThat(reopenedLedger.stockOf(7L).get().getQuantity(), is(equalTo(16)));
+        assertThat(reopenedLedger.stockOf(8L).isPresent(), is(false));
+    }
+
+    @Test
+    void whenSegmentsCoveredBySnapshotAreGoneThenStockIsRebuiltFromSnapshotAndTail() throws Exception {
+        // given
+        StockLedger stockLedger = open();
+        stockLedger.append(JuiceChangeType.CREATED, 7L, 0L, 10);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 15);
+        stockLedger.close();
+        deleteSegments();
+
+        // when
+        StockLedger reopenedLedger = open();
+        reopenedLedger.append(JuiceChangeType.DECREMENTED, 7L, 2L, 12);
+        StockLedger restartedLedger = open();
+
+        // then
+        assertThat(restartedLedger.getSequence(), is(equalTo(3L)));
+        assertThat(restartedLedger.stockOf(7L).get().getQuantity(), is(equalTo(12)));
+    }
+
+    @Test
+    void whenStockIsRequestedAtAnEarlierSequenceThenOnlyMovementsUpToItAreReplayed() throws Exception {
+        // given
+        StockLedger stockLedger = open();
+        stockLedger.append(JuiceChangeType.CREATED, 7L, 0L, 10);
+        long beforeBadBatch = stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 15);
+        stockLedger.append(JuiceChangeType.UPDATED, 7L, 2L, 0);
+
+        // when
+        LedgerStockDTO ledgerStock = stockLedger.stockAt(7L, beforeBadBatch).get();
+
+        // then
+        assertThat(ledgerStock.getQuantity(), is(equalTo(15)));
+        assertThat(ledgerStock.getSequence(), is(equalTo(beforeBadBatch)));
+        assertThat(stockLedger.stockOf(7L).get().getQuantity(), is(equalTo(0)));
+    }
+
+    @Test
+    void whenStockIsRequestedTooFarFromAnySnapshotThenTheReplayIsRefused() throws Exception {
+        // given
+        properties.setSnapshotInterval(3);
+        properties.setSnapshotsToKeep(1);
+        properties.setMaxReplayDistance(1);
+        StockLedger stockLedger = open();
+        stockLedger.append(JuiceChangeType.CREATED, 7L, 0L, 10);
+        long beforeSnapshot = stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 11);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 2L, 13);
+        stockLedger.append(JuiceChangeType.CREATED, 8L, 0L, 4);
+        long afterSnapshot = stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 3L, 16);
+        stockLedger.close();
+
+        // when
+        StockLedger reopenedLedger = open();
+        LedgerStockDTO ledgerStock = reopenedLedger.stockAt(7L, afterSnapshot).get();
+
+        // then
+        assertThat(ledgerStock.getQuantity(), is(equalTo(16)));
+        assertThat(ledgerStock.getSequence(), is(equalTo(afterSnapshot)));
+        assertThrows(LedgerReplayTooLongException.class, () -> reopenedLedger.stockAt(7L, beforeSnapshot));
+    }
+
+    @Test
+    void whenDeltaArrivesForAnUnknownJuiceThenItIsIgnoredUntilABaselineArrives() throws Exception {
+        // given
+        StockLedger stockLedger = open();
+
+        // when
+        stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 5);
+        boolean appliedBeforeBaseline = stockLedger.stockOf(7L).isPresent();
+        boolean baselineAppended = stockLedger.appendBaseline(7L, 1L, 40);
+        boolean secondBaselineAppended = stockLedger.appendBaseline(7L, 1L, 0);
+        stockLedger.append(JuiceChangeType.DECREMENTED, 7L, 2L, 37);
+        StockLedger reopenedLedger = open();
+
+        // then
+        assertThat(appliedBeforeBaseline, is(false));
+        assertThat(baselineAppended, is(true));
+        assertThat(secondBaselineAppended, is(false));
+        assertThat(stockLedger.stockOf(7L).get().getQuantity(), is(equalTo(37)));
+        assertThat(reopenedLedger.stockOf(7L).get().getQuantity(), is(equalTo(37)));
+    }
+
+    @Test
+    void whenMovementsAreAppendedOutOfCommitOrderThenTheNewestVersionWins() throws Exception {
+        // given
+        StockLedger stockLedger = open();
+        stockLedger.append(JuiceChangeType.CREATED, 7L, 0L, 10);
+        stockLedger.append(JuiceChangeType.CREATED, 8L, 0L, 4);
+
+        // when
+        stockLedger.append(JuiceChangeType.UPDATED, 7L, 2L, 50);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 15);
+        stockLedger.append(JuiceChangeType.DELETED, 8L, 1L, 9);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 8L, 1L, 9);
+        stockLedger.append(JuiceChangeType.UPDATED, 8L, 1L, 9);
+        StockLedger reopenedLedger = open();
+
+        // then
+        assertThat(stockLedger.stockOf(7L).get().getQuantity(), is(equalTo(50)));
+        assertThat(stockLedger.stockOf(8L).isPresent(), is(false));
+        assertThat(reopenedLedger.stockOf(7L).get().getQuantity(), is(equalTo(50)));
+        assertThat(reopenedLedger.stockOf(8L).isPresent(), is(false));
+    }
+
+    @Test
+    void whenLedgerIsReopenedAfterATornRecordThenTheRecordsAfterItAreNotReplayedLater() throws Exception {
+        // given
+        StockLedger stockLedger = open();
+        stockLedger.append(JuiceChangeType.CREATED, 7L, 0L, 10);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 12);
+        stockLedger.append(JuiceChangeType.INCREMENTED, 7L, 2L, 14);
+        tearRecord(2L);
+
+        // when
+        StockLedger reopenedLedger = open();
+        long sequenceAfterTear = reopenedLedger.getSequence();
+        reopenedLedger.append(JuiceChangeType.INCREMENTED, 7L, 1L, 13);
+        StockLedger restartedLedger = open();
+
+        // then
+        assertThat(sequenceAfterTear, is(equalTo(1L)));
+        assertThat(restartedLedger.getSequence(), is(equalTo(2L)));
+        assertThat(restartedLedger.stockOf(7L).get().getQuantity(), is(equalTo(13)));
+    }
+
+    private static JuiceDTO adjusted(JuiceDTO JuiceDTO, int delta) {
+        JuiceDTO.setQuantity(JuiceDTO.getQuantity() + delta);
+        JuiceDTO.setVersion(JuiceDTO.getVersion() + 1);
+        return JuiceDTO;
+    }
+
+    private StockLedger open() throws IOException {
+        return new StockLedger(properties, new SimpleMeterRegistry());
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    private void tearRecord(long sequence) throws IOException {
+        Path segment = directory.resolve(String.format("segment-%020d.log", 1L));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), (sequence - 1) * StockLedger.RECORD_SIZE);
+        }
+    }
+
+    private void deleteSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".log")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package katianne.JuiceStock.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import katianne.JuiceStock.builder.JuiceDTOBuilder;
+import katianne.JuiceStock.config.WarehouseShardingProperties;
+import katianne.JuiceStock.config.WarehouseShards;
+import katianne.JuiceStock.dto.JuiceDTO;
+import katianne.JuiceStock.dto.WarehouseStockDTO;
+import katianne.JuiceStock.dto.WarehouseStockListDTO;
+import katianne.JuiceStock.dto.WarehouseStockTotalDTO;
+import katianne.JuiceStock.enums.JuiceType;
+import katianne.JuiceStock.event.JuiceChangedEvent;
+import katianne.JuiceStock.exception.JuiceStockExceededException;
+import katianne.JuiceStock.exception.WarehouseStockNotFoundException;
+import katianne.JuiceStock.utils.DelayedDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class WarehouseStockServiceTest {
+
+    @Mock
+    private JuiceService JuiceService;
+
+    private WarehouseShards warehouseShards;
+
+    private WarehouseStockService warehouseStockService;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        warehouseStockService.shutdown();
+        for (int shardIndex = 0; shardIndex < warehouseShards.size(); shardIndex++) {
+            warehouseShards.shard(shardIndex).getJdbcTemplate().execute("DROP ALL OBJECTS");
+        }
+        warehouseShards.close();
+    }
+
+    @Test
+    void whenStockIsSetThenItIsWrittenToTheShardOwningTheWarehouse() throws Exception {
+        // given
+        setUpShards(3, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+
+        // when
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(4L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+
+        // then
+        assertThat(warehouseShards.shardOf(4L), is(equalTo(1)));
+        assertThat(rowsIn(0), is(equalTo(0)));
+        assertThat(rowsIn(1), is(equalTo(1)));
+        assertThat(rowsIn(2), is(equalTo(0)));
+        assertThat(warehouseStockService.findByWarehouse(4L).get(0).getQuantity(), is(equalTo(10)));
+    }
+
+    @Test
+    void whenTotalIsRequestedThenEveryShardIsSummed() throws Exception {
+        // given
+        setUpShards(3, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+
+        // when
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        for (long warehouseId = 1; warehouseId <= 5; warehouseId++) {
+            warehouseStockService.putStock(warehouseId, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        }
+        warehouseStockService.increment(2L, JuiceDTO.getName(), 5);
+        WarehouseStockTotalDTO total = warehouseStockService.totalByName(JuiceDTO.getName());
+
+        // then
+        assertThat(total.getQuantity(), is(equalTo(55L)));
+        assertThat(total.getMax(), is(equalTo(250L)));
+        assertThat(total.getWarehouses(), is(equalTo(5L)));
+        assertThat(total.getUnavailableShards(), is(empty()));
+    }
+
+    @Test
+    void whenAShardMissesItsTimeoutThenTheOtherShardsAreStillMerged() throws Exception {
+        // given
+        setUpShards(2, Duration.ofMillis(200), 1);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(2L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+
+        // when
+        long start = System.nanoTime();
+        WarehouseStockListDTO stock = warehouseStockService.findByType(JuiceType.LIFE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // then
+        assertThat(stock.getStock().size(), is(equalTo(1)));
+        assertThat(stock.getStock().get(0).getWarehouseId(), is(equalTo(2L)));
+        assertThat(stock.getUnavailableShards(), contains(1));
+        assertThat(elapsedMillis < 1000, is(true));
+    }
+
+    @Test
+    void whenIncrementExceedsTheWarehouseMaxThenAnExceptionIsThrown() throws Exception {
+        // given
+        setUpShards(2, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+
+        // when
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(1L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(45).max(50).build());
+
+        // then
+        assertThrows(JuiceStockExceededException.class, () -> warehouseStockService.increment(1L, JuiceDTO.getName(), 10));
+        assertThrows(WarehouseStockNotFoundException.class, () -> warehouseStockService.increment(3L, JuiceDTO.getName(), 1));
+        assertThat(warehouseStockService.findByWarehouse(1L).get(0).getQuantity(), is(equalTo(45)));
+    }
+
+    @Test
+    void whenJuiceIsDeletedThenItsStockIsRemovedFromEveryShard() throws Exception {
+        // given
+        setUpShards(2, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(1L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        warehouseStockService.putStock(2L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+
+        // when
+        warehouseStockService.onJuiceChanged(JuiceChangedEvent.deleted(JuiceDTO));
+        WarehouseStockListDTO stockBeforeSync = warehouseStockService.findByType(JuiceType.LIFE);
+        WarehouseStockTotalDTO totalBeforeSync = warehouseStockService.totalByName(JuiceDTO.getName());
+        warehouseStockService.syncCatalog();
+
+        // then
+        assertThat(stockBeforeSync.getStock(), is(empty()));
+        assertThat(totalBeforeSync.getWarehouses(), is(equalTo(0L)));
+        assertThat(rowsIn(0) + rowsIn(1), is(equalTo(0)));
+    }
+
+    @Test
+    void whenAShardFailsToApplyACatalogChangeThenItIsRetriedOnTheNextSync() throws Exception {
+        // given
+        setUpShards(2, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(1L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        warehouseStockService.putStock(2L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        warehouseShards.shard(1).getJdbcTemplate().execute("ALTER TABLE warehouse_stock RENAME TO warehouse_stock_offline");
+
+        // when
+        warehouseStockService.onJuiceChanged(JuiceChangedEvent.deleted(JuiceDTO));
+        warehouseStockService.syncCatalog();
+        int rowsInHealthyShardAfterFailure = rowsIn(0);
+        warehouseShards.shard(1).getJdbcTemplate().execute("ALTER TABLE warehouse_stock_offline RENAME TO warehouse_stock");
+        int rowsInFailedShardBeforeRetry = rowsIn(1);
+        warehouseStockService.syncCatalog();
+
+        // then
+        assertThat(rowsInHealthyShardAfterFailure, is(equalTo(0)));
+        assertThat(rowsInFailedShardBeforeRetry, is(equalTo(1)));
+        assertThat(rowsIn(1), is(equalTo(0)));
+    }
+
+    @Test
+    void whenJuiceIsRenamedThenEveryShardIsUpdatedInOneSync() throws Exception {
+        // given
+        setUpShards(2, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO renamedJuiceDTO = JuiceDTOBuilder.builder().name("Kapo").type(JuiceType.LIFE).build().toJuiceDTO();
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(1L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        warehouseStockService.putStock(2L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+
+        // when
+        warehouseStockService.onJuiceChanged(JuiceChangedEvent.updated(JuiceDTO, renamedJuiceDTO));
+        List<String> namesBeforeSync = namesOf(warehouseStockService.findByType(JuiceType.LIFE));
+        WarehouseStockTotalDTO totalBeforeSync = warehouseStockService.totalByName("Kapo");
+        warehouseStockService.syncCatalog();
+
+        // then
+        assertThat(namesBeforeSync, contains("Kapo", "Kapo"));
+        assertThat(totalBeforeSync.getWarehouses(), is(equalTo(2L)));
+        assertThat(warehouseStockService.totalByName("Kapo").getWarehouses(), is(equalTo(2L)));
+        assertThat(warehouseStockService.totalByName(JuiceDTO.getName()).getWarehouses(), is(equalTo(0L)));
+    }
+
+    @Test
+    void whenJuiceTypeChangesThenItIsListedUnderTheNewTypeBeforeSync() throws Exception {
+        // given
+        setUpShards(2, Duration.ofSeconds(1), null);
+        JuiceDTO JuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO retypedJuiceDTO = JuiceDTOBuilder.builder().type(JuiceType.FOCUSED).build().toJuiceDTO();
+        when(JuiceService.findByName(JuiceDTO.getName())).thenReturn(JuiceDTO);
+        warehouseStockService.putStock(1L, JuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+
+        // when
+        warehouseStockService.onJuiceChanged(JuiceChangedEvent.updated(JuiceDTO, retypedJuiceDTO));
+
+        // then
+        assertThat(warehouseStockService.findByType(JuiceType.FOCUSED).getStock().size(), is(equalTo(1)));
+        assertThat(warehouseStockService.findByType(JuiceType.LIFE).getStock(), is(empty()));
+    }
+
+    @Test
+    void whenShardsMissedCatalogChangesBeforeARestartThenStartupReconcilesThem() throws Exception {
+        // given
+        setUpShards(2, Duration.ofSeconds(1), null);
+        JuiceDTO keptJuiceDTO = JuiceDTOBuilder.builder().id(1L).type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO deletedJuiceDTO = JuiceDTOBuilder.builder().id(2L).name("Kapo").type(JuiceType.LIFE).build().toJuiceDTO();
+        JuiceDTO renamedJuiceDTO = JuiceDTOBuilder.builder().id(1L).name("Tial").type(JuiceType.LIFE).build().toJuiceDTO();
+        when(JuiceService.findByName(keptJuiceDTO.getName())).thenReturn(keptJuiceDTO);
+        when(JuiceService.findByName(deletedJuiceDTO.getName())).thenReturn(deletedJuiceDTO);
+        warehouseStockService.putStock(1L, keptJuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        warehouseStockService.putStock(2L, keptJuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        warehouseStockService.putStock(2L, deletedJuiceDTO.getName(), WarehouseStockDTO.builder().quantity(10).max(50).build());
+        when(JuiceService.findAllById(any())).thenReturn(List.of(renamedJuiceDTO));
+
+        // when
+        warehouseStockService.reconcileCatalog();
+        warehouseStockService.syncCatalog();
+
+        // then
+        assertThat(rowsIn(0) + rowsIn(1), is(equalTo(2)));
+        assertThat(warehouseStockService.totalByName("Tial").getWarehouses(), is(equalTo(2L)));
+        assertThat(warehouseStockService.totalByName(deletedJuiceDTO.getName()).getWarehouses(), is(equalTo(0L)));
+    }
+
+    private static List<String> namesOf(WarehouseStockListDTO stock) {
+        List<String> names = new ArrayList<>();
+        stock.getStock().forEach(warehouseStock -> names.add(warehouseStock.getName()));
+        return names;
+    }
+
+    private void setUpShards(int shards, Duration shardTimeout, Integer slowShard) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < shards; shardIndex++) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:warehouse-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            dataSources.add(Integer.valueOf(shardIndex).equals(slowShard) ? new DelayedDataSource(dataSource, Duration.ofSeconds(2)) : dataSource);
+        }
+        warehouseShards = new WarehouseShards(dataSources, shardTimeout);
+        warehouseShards.createSchema();
+        WarehouseShardingProperties properties = new WarehouseShardingProperties();
+        properties.setShardTimeout(shardTimeout);
+        properties.setCatalogSyncInterval(Duration.ofHours(1));
+        warehouseStockService = new WarehouseStockService(warehouseShards, properties, JuiceService, new SimpleMeterRegistry());
+    }
+
+    private int rowsIn(int shardIndex) {
+        return warehouseShards.shard(shardIndex).queryForObject("SELECT COUNT(*) FROM warehouse_stock", Map.of(), Integer.class);
+    }
+}
@@ -0,0 +1,29 @@
+package katianne.JuiceStock.utils;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+public class DelayedDataSource extends DelegatingDataSource {
+
+    private final Duration delay;
+
+    public DelayedDataSource(DataSource targetDataSource, Duration delay) {
+        super(targetDataSource);
+        this.delay = delay;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while delaying connection", e);
+        }
+        return super.getConnection();
+    }
+}
@@ -0,0 +1,34 @@
+package katianne.JuiceStock.utils;
+
+import katianne.JuiceStock.config.SqlRoundTrips;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SqlRoundTripAssertions {
+
+    public static SqlRoundTrips.Scope measure(SqlAction action) throws Exception {
+        try (SqlRoundTrips.Scope scope = SqlRoundTrips.open()) {
+            action.run();
+            return scope;
+        }
+    }
+
+    public static SqlRoundTrips.Scope assertStatements(long expectedStatements, SqlAction action) throws Exception {
+        SqlRoundTrips.Scope scope = measure(action);
+        assertThat("SQL statements (" + scope + ")", scope.getStatements(), equalTo(expectedStatements));
+        return scope;
+    }
+
+    public static SqlRoundTrips.Scope assertStatementsAndLoads(long expectedStatements, long expectedEntityLoads, SqlAction action) throws Exception {
+        SqlRoundTrips.Scope scope = assertStatements(expectedStatements, action);
+        assertThat("entity loads (" + scope + ")", scope.getEntityLoads(), equalTo(expectedEntityLoads));
+        return scope;
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+
+        void run() throws Exception;
+    }
+}